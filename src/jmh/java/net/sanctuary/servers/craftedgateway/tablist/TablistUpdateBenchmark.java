@@ -0,0 +1,299 @@
+package net.sanctuary.servers.craftedgateway.tablist;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.platform.bukkit.BukkitAudiences;
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.LuckPermsProvider;
+import net.luckperms.api.cacheddata.CachedDataManager;
+import net.luckperms.api.cacheddata.CachedMetaData;
+import net.luckperms.api.event.EventBus;
+import net.luckperms.api.event.EventSubscription;
+import net.luckperms.api.event.group.GroupDataRecalculateEvent;
+import net.luckperms.api.model.user.User;
+import net.luckperms.api.model.user.UserManager;
+import net.sanctuary.servers.craftedgateway.config.ConfigKeys;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Drives {@link TablistService#update()} for a number of online players.
+ *
+ * <p>The server, plugin, players, audiences and LuckPerms are dynamic proxies. Every player
+ * has a LuckPerms prefix, and the audience only counts header and footer sends. One
+ * operation covers one update interval: a single pass in the fixed mode, one pass per tick
+ * in the sharded and adaptive modes. No radio service is attached, so {@code {song}} is
+ * empty.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TablistUpdateBenchmark {
+    private static final int UPDATE_INTERVAL_TICKS = 40;
+    private static final List<String> HEADER = List.of(
+        "<gold>SanctuaryMC</gold>",
+        "<gray>Time:</gray> <yellow>{time}</yellow>"
+    );
+    private static final List<String> FOOTER = List.of(
+        "<gray>Now Playing:</gray> <yellow>{song}</yellow>",
+        "<gray>Ping:</gray> <yellow>{ping}ms</yellow> {prefix}<white>{player}</white>"
+    );
+    private static final String[] PREFIXES = {"&7[Member]", "&6[Staff]", ""};
+
+    /**
+     * Online players of the stub server. Bukkit accepts a server once per JVM, so the stub
+     * is shared between trials and reads the current trial's players from here.
+     */
+    private static final Map<UUID, Player> ONLINE = new LinkedHashMap<>();
+
+    @Param({"50", "500", "2000"})
+    public int players;
+
+    @Param({"fixed", "sharded", "adaptive"})
+    public String mode;
+
+    /**
+     * What changes between passes: nothing, the {@code {time}} value on every pass, or every
+     * prefix through a LuckPerms group recalculation before each operation.
+     */
+    @Param({"none", "time", "prefixes"})
+    public String churn;
+
+    private final Map<UUID, User> users = new HashMap<>();
+    private TablistService service;
+    private Consumer<? super GroupDataRecalculateEvent> groupRecalculate;
+    private GroupDataRecalculateEvent groupEvent;
+    private int ticksPerOperation;
+    private long sends;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        ONLINE.clear();
+        users.clear();
+        CachedDataManager[] prefixData = new CachedDataManager[PREFIXES.length];
+        for (int i = 0; i < PREFIXES.length; i++) {
+            CachedMetaData meta = stub(CachedMetaData.class, Map.of("getPrefix", PREFIXES[i]));
+            prefixData[i] = stub(CachedDataManager.class, Map.of("getMetaData", meta));
+        }
+        for (int i = 0; i < players; i++) {
+            UUID playerId = new UUID(0L, i);
+            ONLINE.put(playerId, stub(Player.class, Map.of(
+                "getUniqueId", playerId,
+                "getName", "Player" + i,
+                "getPing", 20 + i % 200
+            )));
+            users.put(playerId, stub(User.class, Map.of(
+                "getUniqueId", playerId,
+                "getCachedData", prefixData[i % prefixData.length]
+            )));
+        }
+
+        Plugin luckPermsPlugin = stub(Plugin.class, Map.of("getName", "LuckPerms"));
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(stub(Server.class, Map.of(
+                "getOnlinePlayers", (Answer) args -> ONLINE.values(),
+                "getPlayer", (Answer) args -> ONLINE.get(args[0]),
+                "getPluginManager", stub(PluginManager.class, Map.of(
+                    "getPlugin", (Answer) args -> "LuckPerms".equals(args[0]) ? luckPermsPlugin : null
+                )),
+                "getScheduler", stub(BukkitScheduler.class, Map.of(
+                    "runTaskTimer", stub(BukkitTask.class, Map.of())
+                )),
+                "getLogger", Logger.getLogger("Server"),
+                "getName", "TablistUpdateBenchmark",
+                "getVersion", "benchmark",
+                "getBukkitVersion", "1.20.1-R0.1-SNAPSHOT"
+            )));
+        }
+        registerLuckPerms(stub(LuckPerms.class, Map.of(
+            "getUserManager", stub(UserManager.class, Map.of("getUser", (Answer) args -> users.get(args[0]))),
+            "getEventBus", stub(EventBus.class, Map.of("subscribe", (Answer) this::subscribe))
+        )));
+        groupEvent = stub(GroupDataRecalculateEvent.class, Map.of());
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set(ConfigKeys.Tablist.UPDATE_INTERVAL_TICKS, UPDATE_INTERVAL_TICKS);
+        config.set(ConfigKeys.Tablist.SHARDED_UPDATES, "sharded".equals(mode));
+        config.set(ConfigKeys.Tablist.REFRESH_MODE, "adaptive".equals(mode) ? "adaptive" : "fixed");
+        config.set(ConfigKeys.Tablist.TIME_FORMAT, "time".equals(churn) ? "HH:mm:ss.SSSSSSSSS" : "'12:00 PM'");
+        config.set(ConfigKeys.Tablist.HEADER, HEADER);
+        config.set(ConfigKeys.Tablist.FOOTER, FOOTER);
+        Plugin plugin = stub(Plugin.class, Map.of(
+            "getName", "CraftedGateway",
+            "getConfig", config,
+            "getLogger", Logger.getLogger("CraftedGateway"),
+            "isEnabled", true
+        ));
+        Audience audience = stub(Audience.class, Map.of("sendPlayerListHeaderAndFooter", (Answer) args -> {
+            sends++;
+            return null;
+        }));
+        service = new TablistService(
+            plugin,
+            stub(BukkitAudiences.class, Map.of("player", audience)),
+            null,
+            new NoopMetrics()
+        );
+        service.reload();
+        for (Player player : ONLINE.values()) {
+            service.handleJoin(player);
+        }
+        ticksPerOperation = "fixed".equals(mode) ? 1 : UPDATE_INTERVAL_TICKS;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws ReflectiveOperationException {
+        service.stop();
+        Method unregister = LuckPermsProvider.class.getDeclaredMethod("unregister");
+        unregister.setAccessible(true);
+        unregister.invoke(null);
+        ONLINE.clear();
+    }
+
+    @Benchmark
+    public void updateInterval(Blackhole blackhole) {
+        if ("prefixes".equals(churn)) {
+            groupRecalculate.accept(groupEvent);
+        }
+        for (int tick = 0; tick < ticksPerOperation; tick++) {
+            service.update();
+        }
+        blackhole.consume(sends);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object subscribe(Object[] args) {
+        if (args[1] == GroupDataRecalculateEvent.class) {
+            groupRecalculate = (Consumer<? super GroupDataRecalculateEvent>) args[2];
+        }
+        return stub(EventSubscription.class, Map.of());
+    }
+
+    /**
+     * Registers the stub the same way the LuckPerms plugin registers its API on enable.
+     */
+    private static void registerLuckPerms(LuckPerms luckPerms) throws ReflectiveOperationException {
+        Method register = LuckPermsProvider.class.getDeclaredMethod("register", LuckPerms.class);
+        register.setAccessible(true);
+        register.invoke(null, luckPerms);
+    }
+
+    private static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            String name = method.getName();
+            Object answer = answers.get(name);
+            if (answer instanceof Answer computed) {
+                return computed.answer(args);
+            }
+            if (answer != null) {
+                return answer;
+            }
+            return switch (name) {
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                case "toString" -> type.getSimpleName() + answers.keySet();
+                default -> defaultValue(method.getReturnType());
+            };
+        });
+        return type.cast(proxy);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == void.class) {
+            return null;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0d;
+        }
+        if (type == float.class) {
+            return 0.0f;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        return 0;
+    }
+
+    /**
+     * Computes a stubbed method's result from its arguments.
+     */
+    @FunctionalInterface
+    private interface Answer {
+        Object answer(Object[] args);
+    }
+
+    private static final class NoopMetrics implements TablistMetrics {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordTablistUpdate(long durationNanos) {
+        }
+
+        @Override
+        public void recordTablistRender(long durationNanos) {
+        }
+
+        @Override
+        public void recordTablistRenderResult(boolean applied) {
+        }
+
+        @Override
+        public void recordTablistHeaderFooter(boolean sent) {
+        }
+
+        @Override
+        public void recordTablistListName(boolean sent) {
+        }
+    }
+}
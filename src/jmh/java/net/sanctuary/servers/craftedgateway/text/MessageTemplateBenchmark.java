@@ -0,0 +1,88 @@
+package net.sanctuary.servers.craftedgateway.text;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures message rendering in legacy and MiniMessage mode with a varying number of
+ * placeholders, both through the static {@link MessageTemplate#render(String, Object...)}
+ * wrapper and through a precompiled template.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MessageTemplateBenchmark {
+    private static final String STATION_URL = "https://radio.example.net/public/station";
+
+    @Param({"legacy", "minimessage"})
+    public String format;
+
+    @Param({"0", "3", "10"})
+    public int placeholders;
+
+    private String template;
+    private String urlTemplate;
+    private Object[] keyValues;
+    private Object[] values;
+    private CompiledTemplate compiled;
+
+    @Setup
+    public void setUp() {
+        boolean legacy = "legacy".equals(format);
+        StringBuilder builder = new StringBuilder(legacy ? "&6[Bench] " : "<gold>[Bench]</gold> ");
+        keyValues = new Object[placeholders * 2];
+        values = new Object[placeholders];
+        String[] keys = new String[placeholders];
+        for (int i = 0; i < placeholders; i++) {
+            String key = "key" + i;
+            keys[i] = key;
+            keyValues[i * 2] = key;
+            keyValues[i * 2 + 1] = "value " + i;
+            values[i] = "value " + i;
+            if (legacy) {
+                builder.append("&e{").append(key).append("} &7- ");
+            } else {
+                builder.append("<yellow>{").append(key).append("}</yellow> <gray>-</gray> ");
+            }
+        }
+        template = builder.toString();
+        urlTemplate = legacy ? "&6[Radio] &e{song} &7- &b{url}" : "<gold>[Radio]</gold> <yellow>{song}</yellow> <aqua>{url}</aqua>";
+        compiled = MessageTemplate.compile(template, keys);
+    }
+
+    @Benchmark
+    public Component render() {
+        return MessageTemplate.render(template, keyValues);
+    }
+
+    @Benchmark
+    public Component renderCompiled() {
+        return compiled.render(values);
+    }
+
+    @Benchmark
+    public Component renderLegacyAwareComponent() {
+        Object url = MessageTemplate.legacyAwareValue(
+            urlTemplate,
+            STATION_URL,
+            () -> Component.text("Listen Now").clickEvent(ClickEvent.openUrl(STATION_URL))
+        );
+        return MessageTemplate.render(urlTemplate, "song", "Artist - Title", "url", url);
+    }
+}
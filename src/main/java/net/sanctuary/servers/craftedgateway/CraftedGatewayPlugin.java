@@ -9,17 +9,24 @@ import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import net.sanctuary.servers.craftedgateway.command.GatewayCommand;
 import net.sanctuary.servers.craftedgateway.command.RadioCommand;
 import net.sanctuary.servers.craftedgateway.command.VotdCommand;
+import net.sanctuary.servers.craftedgateway.config.ConfigKeys;
+import net.sanctuary.servers.craftedgateway.config.ConfigUtils;
+import net.sanctuary.servers.craftedgateway.listener.TablistListener;
 import net.sanctuary.servers.craftedgateway.listener.VotdJoinListener;
 import net.sanctuary.servers.craftedgateway.metrics.MetricsService;
 import net.sanctuary.servers.craftedgateway.radio.RadioNowPlayingService;
 import net.sanctuary.servers.craftedgateway.tablist.TablistService;
+import net.sanctuary.servers.craftedgateway.text.RenderCache;
 import net.sanctuary.servers.craftedgateway.votd.VotdService;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public final class CraftedGatewayPlugin extends JavaPlugin {
     private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
     private static final String CONSOLE_TEMPLATE =
         "<gold>[CraftedGateway]</gold> <gray>v<yellow><version></yellow></gray> <state>";
+    private static final int DEFAULT_RENDER_CACHE_ENTRIES = 256;
+    private final RenderCache renderCache = new RenderCache(DEFAULT_RENDER_CACHE_ENTRIES);
     private BukkitCommandManager commandManager;
     private BukkitAudiences audiences;
     private VotdService votdService;
@@ -31,6 +38,7 @@ public final class CraftedGatewayPlugin extends JavaPlugin {
     public void onEnable() {
         saveDefaultConfig();
         reloadAndUpdateConfig();
+        configureRenderCache();
         audiences = BukkitAudiences.create(this);
         String version = getDescription().getVersion();
         sendConsoleStatus(version, Component.text("starting").color(NamedTextColor.YELLOW));
@@ -49,6 +57,7 @@ public final class CraftedGatewayPlugin extends JavaPlugin {
         tablistService.start();
         metricsService.start();
         getServer().getPluginManager().registerEvents(new VotdJoinListener(votdService), this);
+        getServer().getPluginManager().registerEvents(new TablistListener(tablistService), this);
         commandManager = new BukkitCommandManager(this);
         commandManager.registerCommand(new GatewayCommand(this));
         commandManager.registerCommand(new VotdCommand(this, votdService));
@@ -76,6 +85,7 @@ public final class CraftedGatewayPlugin extends JavaPlugin {
             metricsService.stop();
             metricsService = null;
         }
+        renderCache.clear();
         if (audiences != null) {
             sendConsoleStatus(version, Component.text("stopped").color(NamedTextColor.RED));
             audiences.close();
@@ -89,6 +99,13 @@ public final class CraftedGatewayPlugin extends JavaPlugin {
         return audiences;
     }
 
+    /**
+     * Returns the cache of rendered message components shared by all services.
+     */
+    public RenderCache renderCache() {
+        return renderCache;
+    }
+
     public void reloadAndUpdateConfig() {
         reloadConfig();
         getConfig().options().copyDefaults(true);
@@ -97,6 +114,7 @@ public final class CraftedGatewayPlugin extends JavaPlugin {
 
     public void reloadAll() {
         reloadAndUpdateConfig();
+        configureRenderCache();
         if (votdService != null) {
             votdService.reload();
         }
@@ -111,6 +129,18 @@ public final class CraftedGatewayPlugin extends JavaPlugin {
         }
     }
 
+    private void configureRenderCache() {
+        FileConfiguration config = getConfig();
+        renderCache.resize(config.getInt(
+            ConfigKeys.RenderCache.MAX_ENTRIES,
+            ConfigUtils.getDefaultInt(
+                config,
+                ConfigKeys.RenderCache.MAX_ENTRIES,
+                DEFAULT_RENDER_CACHE_ENTRIES
+            )
+        ));
+    }
+
     private void sendConsoleStatus(String version, Component state) {
         if (audiences == null) {
             return;
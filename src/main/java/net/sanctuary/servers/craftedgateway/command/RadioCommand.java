@@ -4,15 +4,30 @@ import co.aikar.commands.BaseCommand;
 import co.aikar.commands.annotation.CommandAlias;
 import co.aikar.commands.annotation.CommandPermission;
 import co.aikar.commands.annotation.Description;
+import co.aikar.commands.annotation.Optional;
 import co.aikar.commands.annotation.Subcommand;
+import co.aikar.commands.annotation.Syntax;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import net.sanctuary.servers.craftedgateway.CraftedGatewayPlugin;
 import net.sanctuary.servers.craftedgateway.config.ConfigKeys;
 import net.sanctuary.servers.craftedgateway.radio.RadioNowPlayingService;
 import org.bukkit.command.CommandSender;
 
+import java.util.Locale;
+
 @CommandAlias("radio")
 @Description("Radio now playing controls.")
 public final class RadioCommand extends BaseCommand {
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+    private static final String STATUS_TEMPLATE =
+        "<gold>[Radio]</gold> <gray>source:</gray> <yellow><source></yellow>"
+            + " <gray>connection:</gray> <yellow><connection></yellow>"
+            + " <gray>last message:</gray> <yellow><last-message></yellow>"
+            + " <gray>circuit:</gray> <yellow><circuit></yellow>"
+            + " <gray>failures:</gray> <yellow><failures></yellow>"
+            + " <gray>next attempt:</gray> <yellow><next></yellow>";
+
     private final CraftedGatewayPlugin plugin;
     private final RadioNowPlayingService radioService;
 
@@ -33,24 +48,64 @@ public final class RadioCommand extends BaseCommand {
         );
     }
 
+    @Subcommand("status")
+    @CommandPermission("craftedgateway.radio.status")
+    @Description("Show the radio connection status.")
+    public void onStatus(CommandSender sender) {
+        RadioNowPlayingService.ConnectionStatus status = radioService.getConnectionStatus();
+        String connection = !status.enabled() ? "disabled" : status.connected() ? "connected" : "disconnected";
+        String next = status.millisUntilNextAttempt() > 0
+            ? "in " + (status.millisUntilNextAttempt() + 999L) / 1000L + "s"
+            : "-";
+        String lastMessage = status.lastMessageAgeMillis() >= 0
+            ? status.lastMessageAgeMillis() / 1000L + "s ago"
+            : "-";
+        plugin.audiences().sender(sender).sendMessage(MINI_MESSAGE.deserialize(
+            STATUS_TEMPLATE,
+            Placeholder.unparsed("source", status.source()),
+            Placeholder.unparsed("connection", connection),
+            Placeholder.unparsed("last-message", lastMessage),
+            Placeholder.unparsed("circuit", status.circuitState()),
+            Placeholder.unparsed("failures", Integer.toString(status.consecutiveFailures())),
+            Placeholder.unparsed("next", next)
+        ));
+    }
+
     @Subcommand("announcement enable")
     @CommandPermission("craftedgateway.radio.announce")
     @Description("Enable radio now playing announcements.")
-    public void onAnnouncementEnable(CommandSender sender) {
-        updateAnnouncementEnabled(true);
-        sender.sendMessage("Radio announcements enabled.");
+    @Syntax("[station]")
+    public void onAnnouncementEnable(CommandSender sender, @Optional String station) {
+        updateAnnouncementEnabled(sender, station, true);
     }
 
     @Subcommand("announcement disable")
     @CommandPermission("craftedgateway.radio.announce")
     @Description("Disable radio now playing announcements.")
-    public void onAnnouncementDisable(CommandSender sender) {
-        updateAnnouncementEnabled(false);
-        sender.sendMessage("Radio announcements disabled.");
+    @Syntax("[station]")
+    public void onAnnouncementDisable(CommandSender sender, @Optional String station) {
+        updateAnnouncementEnabled(sender, station, false);
     }
 
-    private void updateAnnouncementEnabled(boolean enabled) {
-        CommandSupport.updateConfigFlag(plugin, ConfigKeys.Radio.ANNOUNCEMENT_ENABLED, enabled);
-        radioService.setAnnouncementEnabled(enabled);
+    private void updateAnnouncementEnabled(CommandSender sender, String station, boolean enabled) {
+        String state = enabled ? "enabled" : "disabled";
+        if (station == null || station.equalsIgnoreCase(radioService.getPrimaryStationName())) {
+            CommandSupport.updateConfigFlag(plugin, ConfigKeys.Radio.ANNOUNCEMENT_ENABLED, enabled);
+            radioService.setAnnouncementEnabled(enabled);
+            sender.sendMessage("Radio announcements " + state + ".");
+            return;
+        }
+        String name = station.toLowerCase(Locale.ROOT);
+        if (!radioService.setAnnouncementEnabled(name, enabled)) {
+            sender.sendMessage("Unknown radio station '" + station + "'. Stations: "
+                + String.join(", ", radioService.getStationNames()) + ".");
+            return;
+        }
+        CommandSupport.updateConfigFlag(
+            plugin,
+            ConfigKeys.Radio.station(name, ConfigKeys.Radio.STATION_ANNOUNCEMENT_ENABLED_FIELD),
+            enabled
+        );
+        sender.sendMessage("Radio announcements " + state + " for " + name + ".");
     }
 }
@@ -5,12 +5,15 @@ import co.aikar.commands.annotation.CommandAlias;
 import co.aikar.commands.annotation.CommandPermission;
 import co.aikar.commands.annotation.Default;
 import co.aikar.commands.annotation.Description;
+import co.aikar.commands.annotation.Optional;
 import co.aikar.commands.annotation.Subcommand;
+import co.aikar.commands.annotation.Syntax;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.sanctuary.servers.craftedgateway.CraftedGatewayPlugin;
 import net.sanctuary.servers.craftedgateway.config.ConfigKeys;
 import net.sanctuary.servers.craftedgateway.votd.VotdService;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 
 @CommandAlias("votd|verseoftheday|bibleverse")
 @Description("Show the Bible verse of the day.")
@@ -40,6 +43,38 @@ public final class VotdCommand extends BaseCommand {
         );
     }
 
+    @Subcommand("version")
+    @CommandPermission("craftedgateway.votd.version")
+    @Description("Show or choose your Bible version.")
+    @Syntax("[version|default]")
+    public void onVersion(CommandSender sender, @Optional String version) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(NamedTextColor.RED + "Only players can choose a Bible version.");
+            return;
+        }
+        String available = String.join(", ", votdService.getAvailableVersions());
+        if (version == null) {
+            String chosen = votdService.getPlayerVersion(player);
+            String current = chosen == null ? votdService.getDefaultVersion() + " (server default)" : chosen;
+            sender.sendMessage(NamedTextColor.GREEN + "Your Bible version: " + current
+                + ". Available: " + available + ".");
+            return;
+        }
+        if (version.equalsIgnoreCase("default")) {
+            votdService.setPlayerVersion(player, null);
+            sender.sendMessage(NamedTextColor.GREEN + "Your Bible version is now the server default ("
+                + votdService.getDefaultVersion() + ").");
+            return;
+        }
+        if (!votdService.setPlayerVersion(player, version)) {
+            sender.sendMessage(NamedTextColor.RED + "Unknown Bible version '" + version
+                + "'. Available: " + available + ".");
+            return;
+        }
+        sender.sendMessage(NamedTextColor.GREEN + "Your Bible version is now "
+            + votdService.getPlayerVersion(player) + ".");
+    }
+
     @Subcommand("join enable")
     @CommandPermission("craftedgateway.votd.join")
     @Description("Enable VOTD join messages.")
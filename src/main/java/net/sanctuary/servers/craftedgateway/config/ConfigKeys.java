@@ -6,6 +6,9 @@ public final class ConfigKeys {
 
     public static final class Votd {
         public static final String BIBLE_VERSION = "votd.bible-version";
+        public static final String AVAILABLE_VERSIONS = "votd.available-versions";
+        public static final String CACHE_MAX_ENTRIES = "votd.cache.max-entries";
+        public static final String TIME_ZONE = "votd.time-zone";
         public static final String API_URL = "votd.api-url";
         public static final String RANDOM_API_URL = "votd.random-api-url";
         public static final String MESSAGE_FORMAT = "votd.message-format";
@@ -16,6 +19,9 @@ public final class ConfigKeys {
         public static final String ANNOUNCEMENT_FORMAT = "votd.announcement-format";
         public static final String ANNOUNCEMENT_INTERVAL_MINUTES = "votd.announcement-interval-minutes";
         public static final String ANNOUNCEMENT_ENABLED = "votd.announcement-enabled";
+        public static final String RANDOM_POOL_SIZE = "votd.random-pool.size";
+        public static final String RANDOM_POOL_LOW_WATER = "votd.random-pool.low-water";
+        public static final String RANDOM_DEDUPE_WINDOW = "votd.random-pool.dedupe-window";
 
         private Votd() {
         }
@@ -24,21 +30,55 @@ public final class ConfigKeys {
     public static final class Radio {
         public static final String ENABLED = "radio.enabled";
         public static final String DEBUG_LOGGING = "radio.debug-logging";
+        public static final String SOURCE = "radio.source";
         public static final String WEBSOCKET_URL = "radio.websocket-url";
+        public static final String SSE_URL = "radio.sse-url";
+        public static final String POLL_URL = "radio.poll.url";
+        public static final String POLL_INTERVAL_SECONDS = "radio.poll.interval-seconds";
+        public static final String FIELDS = "radio.fields";
         public static final String STATION_URL = "radio.station-url";
         public static final String URL_LABEL = "radio.url-label";
         public static final String STATION_SHORTCODE = "radio.station-shortcode";
         public static final String MESSAGE_FORMAT = "radio.message-format";
         public static final String RECONNECT_DELAY_SECONDS = "radio.reconnect-delay-seconds";
+        public static final String RECONNECT_MAX_DELAY_SECONDS = "radio.reconnect-max-delay-seconds";
+        public static final String RECONNECT_STABLE_SECONDS = "radio.reconnect-stable-seconds";
+        public static final String CIRCUIT_FAILURE_THRESHOLD = "radio.circuit-breaker.failure-threshold";
+        public static final String CIRCUIT_OPEN_SECONDS = "radio.circuit-breaker.open-seconds";
+        public static final String HEARTBEAT_INTERVAL_SECONDS = "radio.heartbeat.interval-seconds";
+        public static final String IDLE_TIMEOUT_SECONDS = "radio.heartbeat.idle-timeout-seconds";
+        public static final String MAX_FRAME_CHARS = "radio.max-frame-chars";
         public static final String ANNOUNCEMENT_ENABLED = "radio.announcement-enabled";
+        public static final String ANNOUNCEMENT_COALESCE_TICKS = "radio.announcement-coalesce-ticks";
+        public static final String STATIONS = "radio.stations";
+        public static final String STATION_SHORTCODE_FIELD = "shortcode";
+        public static final String STATION_URL_FIELD = "station-url";
+        public static final String STATION_MESSAGE_FORMAT_FIELD = "message-format";
+        public static final String STATION_ANNOUNCEMENT_ENABLED_FIELD = "announcement-enabled";
 
         private Radio() {
         }
+
+        public static String station(String name, String field) {
+            return STATIONS + "." + name + "." + field;
+        }
+
+        public static String fields(String source) {
+            return FIELDS + "." + source;
+        }
     }
 
     public static final class Tablist {
         public static final String ENABLED = "tablist.enabled";
         public static final String UPDATE_INTERVAL_TICKS = "tablist.update-interval-ticks";
+        public static final String SHARDED_UPDATES = "tablist.sharded-updates";
+        public static final String TICK_BUDGET_MICROS = "tablist.tick-budget-micros";
+        public static final String ASYNC_RENDER = "tablist.async-render";
+        public static final String REFRESH_MODE = "tablist.refresh-mode";
+        public static final String ADAPTIVE_MIN_REFRESH_TICKS = "tablist.adaptive.min-refresh-ticks";
+        public static final String ADAPTIVE_PING_REFRESH_TICKS = "tablist.adaptive.ping-refresh-ticks";
+        public static final String ADAPTIVE_MSPT_THRESHOLD = "tablist.adaptive.mspt-threshold";
+        public static final String ADAPTIVE_MAX_BACKOFF = "tablist.adaptive.max-backoff";
         public static final String TIME_FORMAT = "tablist.time-format";
         public static final String HEADER = "tablist.header";
         public static final String FOOTER = "tablist.footer";
@@ -48,6 +88,13 @@ public final class ConfigKeys {
         }
     }
 
+    public static final class RenderCache {
+        public static final String MAX_ENTRIES = "render-cache.max-entries";
+
+        private RenderCache() {
+        }
+    }
+
     public static final class Metrics {
         public static final String ENABLED = "metrics.enabled";
         public static final String LOG_INTERVAL_MINUTES = "metrics.log-interval-minutes";
@@ -79,4 +79,11 @@ public final class ConfigUtils {
         }
         return config.getDefaults().getInt(path, fallback);
     }
+
+    public static double getDefaultDouble(FileConfiguration config, String path, double fallback) {
+        if (config == null || config.getDefaults() == null) {
+            return fallback;
+        }
+        return config.getDefaults().getDouble(path, fallback);
+    }
 }
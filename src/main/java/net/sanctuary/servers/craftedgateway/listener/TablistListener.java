@@ -0,0 +1,25 @@
+package net.sanctuary.servers.craftedgateway.listener;
+
+import net.sanctuary.servers.craftedgateway.tablist.TablistService;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public final class TablistListener implements Listener {
+    private final TablistService tablistService;
+
+    public TablistListener(TablistService tablistService) {
+        this.tablistService = tablistService;
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        tablistService.handleJoin(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        tablistService.handleQuit(event.getPlayer());
+    }
+}
@@ -3,8 +3,11 @@ package net.sanctuary.servers.craftedgateway.metrics;
 import net.sanctuary.servers.craftedgateway.CraftedGatewayPlugin;
 import net.sanctuary.servers.craftedgateway.config.ConfigKeys;
 import net.sanctuary.servers.craftedgateway.config.ConfigUtils;
+import net.sanctuary.servers.craftedgateway.radio.RadioMetrics;
 import net.sanctuary.servers.craftedgateway.radio.RadioNowPlayingService;
+import net.sanctuary.servers.craftedgateway.tablist.TablistMetrics;
 import net.sanctuary.servers.craftedgateway.tablist.TablistService;
+import net.sanctuary.servers.craftedgateway.text.RenderCache;
 import net.sanctuary.servers.craftedgateway.util.SchedulerSupport;
 import net.sanctuary.servers.craftedgateway.votd.VotdService;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -14,7 +17,7 @@ import java.util.Objects;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 
-public final class MetricsService {
+public final class MetricsService implements RadioMetrics, TablistMetrics {
     private static final int DEFAULT_LOG_INTERVAL_MINUTES = 10;
     private static final long BYTES_PER_MB = 1024L * 1024L;
 
@@ -24,9 +27,18 @@ public final class MetricsService {
     private final Supplier<RadioNowPlayingService> radioSupplier;
     private final Supplier<TablistService> tablistSupplier;
     private final TimingBucket tablistUpdate = new TimingBucket("tablist.update");
+    private final TimingBucket tablistRender = new TimingBucket("tablist.render-async");
     private final TimingBucket radioMessage = new TimingBucket("radio.handle-message");
     private final TimingBucket votdFetchDaily = new TimingBucket("votd.fetch-daily");
     private final TimingBucket votdFetchRandom = new TimingBucket("votd.fetch-random");
+    private final CounterBucket tablistHeaderFooter = new CounterBucket("tablist.header-footer", "sent", "skipped");
+    private final CounterBucket tablistListName = new CounterBucket("tablist.list-name", "sent", "skipped");
+    private final CounterBucket tablistRenderResults = new CounterBucket("tablist.render-async", "applied", "stale");
+    private final CounterBucket radioFrames = new CounterBucket("radio.frames", "accepted", "dropped");
+    private final CounterBucket radioDuplicateFrames = new CounterBucket("radio.duplicate-frames", "skipped", "parsed");
+    private final CounterBucket radioJsonChars = new CounterBucket("radio.json-chars", "retained", "skipped");
+    private final CounterBucket radioAnnouncements = new CounterBucket("radio.announcements", "sent", "coalesced");
+    private final CounterBucket radioRecovery = new CounterBucket("radio.recovery", "recovered", "replayed");
 
     private volatile boolean enabled;
     private volatile long logIntervalTicks;
@@ -61,10 +73,12 @@ public final class MetricsService {
         schedule();
     }
 
+    @Override
     public boolean isEnabled() {
         return enabled;
     }
 
+    @Override
     public void recordTablistUpdate(long durationNanos) {
         if (!enabled) {
             return;
@@ -72,6 +86,39 @@ public final class MetricsService {
         tablistUpdate.record(durationNanos);
     }
 
+    @Override
+    public void recordTablistRender(long durationNanos) {
+        if (!enabled) {
+            return;
+        }
+        tablistRender.record(durationNanos);
+    }
+
+    @Override
+    public void recordTablistRenderResult(boolean applied) {
+        if (!enabled) {
+            return;
+        }
+        tablistRenderResults.record(applied);
+    }
+
+    @Override
+    public void recordTablistHeaderFooter(boolean sent) {
+        if (!enabled) {
+            return;
+        }
+        tablistHeaderFooter.record(sent);
+    }
+
+    @Override
+    public void recordTablistListName(boolean sent) {
+        if (!enabled) {
+            return;
+        }
+        tablistListName.record(sent);
+    }
+
+    @Override
     public void recordRadioHandleMessage(long durationNanos) {
         if (!enabled) {
             return;
@@ -79,6 +126,45 @@ public final class MetricsService {
         radioMessage.record(durationNanos);
     }
 
+    @Override
+    public void recordRadioFrame(boolean accepted) {
+        if (!enabled) {
+            return;
+        }
+        radioFrames.record(accepted);
+    }
+
+    @Override
+    public void recordRadioDuplicateFrame(boolean skipped) {
+        if (!enabled) {
+            return;
+        }
+        radioDuplicateFrames.record(skipped);
+    }
+
+    public void recordRadioAnnouncement(boolean sent) {
+        if (!enabled) {
+            return;
+        }
+        radioAnnouncements.record(sent);
+    }
+
+    @Override
+    public void recordRadioRecovery(boolean recovered) {
+        if (!enabled) {
+            return;
+        }
+        radioRecovery.record(recovered);
+    }
+
+    @Override
+    public void recordRadioJsonChars(long retainedChars, long skippedChars) {
+        if (!enabled) {
+            return;
+        }
+        radioJsonChars.add(retainedChars, skippedChars);
+    }
+
     public void recordVotdFetchDaily(long durationNanos) {
         if (!enabled) {
             return;
@@ -136,9 +222,19 @@ public final class MetricsService {
             appendMemory(builder);
             appendCaches(builder);
             appendTiming(builder, tablistUpdate.snapshotAndReset());
+            appendTiming(builder, tablistRender.snapshotAndReset());
             appendTiming(builder, radioMessage.snapshotAndReset());
             appendTiming(builder, votdFetchDaily.snapshotAndReset());
             appendTiming(builder, votdFetchRandom.snapshotAndReset());
+            appendCounter(builder, tablistHeaderFooter.snapshotAndReset());
+            appendCounter(builder, tablistListName.snapshotAndReset());
+            appendCounter(builder, tablistRenderResults.snapshotAndReset());
+            appendCounter(builder, radioFrames.snapshotAndReset());
+            appendCounter(builder, radioDuplicateFrames.snapshotAndReset());
+            appendCounter(builder, radioJsonChars.snapshotAndReset());
+            appendCounter(builder, radioRecovery.snapshotAndReset());
+            appendCounter(builder, radioAnnouncements.snapshotAndReset());
+            appendRenderCache(builder, plugin.renderCache());
             plugin.getLogger().info(builder.toString());
         } catch (Exception e) {
             plugin.getLogger().log(Level.WARNING, "Failed to log metrics snapshot.", e);
@@ -172,6 +268,15 @@ public final class MetricsService {
             .append(",votd.random=").append(votdRandom)
             .append(",radio.lastSong=").append(radioLast)
             .append("]");
+        if (radioService != null) {
+            RadioNowPlayingService.ConnectionStatus status = radioService.getConnectionStatus();
+            builder.append(" radio.circuit[source=").append(status.source())
+                .append(" state=").append(status.circuitState())
+                .append(" failures=").append(status.consecutiveFailures())
+                .append(" nextAttemptMs=").append(status.millisUntilNextAttempt())
+                .append(" lastMessageAgeMs=").append(status.lastMessageAgeMillis())
+                .append("]");
+        }
         if (tablistService != null) {
             builder.append(" tablist.enabled=").append(tablistService.isEnabled());
         }
@@ -190,6 +295,35 @@ public final class MetricsService {
         builder.append("]");
     }
 
+    private void appendCounter(StringBuilder builder, CounterSnapshot snapshot) {
+        builder.append(" counter[")
+            .append(snapshot.name)
+            .append(' ')
+            .append(snapshot.hitLabel)
+            .append('=')
+            .append(snapshot.hits)
+            .append(' ')
+            .append(snapshot.missLabel)
+            .append('=')
+            .append(snapshot.misses)
+            .append("]");
+    }
+
+    private void appendRenderCache(StringBuilder builder, RenderCache renderCache) {
+        RenderCache.Stats stats = renderCache.snapshotAndReset();
+        builder.append(" counter[text.render-cache hit=")
+            .append(stats.hits())
+            .append(" miss=")
+            .append(stats.misses())
+            .append(" evicted=")
+            .append(stats.evictions())
+            .append(" size=")
+            .append(renderCache.size())
+            .append('/')
+            .append(renderCache.maxEntries())
+            .append("]");
+    }
+
     private static long bytesToMb(long bytes) {
         return bytes / BYTES_PER_MB;
     }
@@ -223,4 +357,41 @@ public final class MetricsService {
 
     private record TimingSnapshot(String name, long count, long totalNanos, long maxNanos) {
     }
+
+    private static final class CounterBucket {
+        private final String name;
+        private final String hitLabel;
+        private final String missLabel;
+        private long hits;
+        private long misses;
+
+        private CounterBucket(String name, String hitLabel, String missLabel) {
+            this.name = name;
+            this.hitLabel = hitLabel;
+            this.missLabel = missLabel;
+        }
+
+        private synchronized void record(boolean hit) {
+            if (hit) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+
+        private synchronized void add(long hitCount, long missCount) {
+            hits += hitCount;
+            misses += missCount;
+        }
+
+        private synchronized CounterSnapshot snapshotAndReset() {
+            CounterSnapshot snapshot = new CounterSnapshot(name, hitLabel, hits, missLabel, misses);
+            hits = 0;
+            misses = 0;
+            return snapshot;
+        }
+    }
+
+    private record CounterSnapshot(String name, String hitLabel, long hits, String missLabel, long misses) {
+    }
 }
@@ -0,0 +1,357 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads AzuraCast's Centrifugo messages, which arrive the same way over the websocket and the
+ * SSE stream: a connect reply carrying each subscription's stream position and history,
+ * followed by one publication per song change.
+ */
+final class CentrifugoFrameHandler {
+    private final NowPlayingSource.Sink sink;
+    private final RadioMetrics metrics;
+    private final SongFields fields;
+    private final NowPlayingExtractor extractor;
+    private final Logger logger;
+    private final boolean debugLogging;
+
+    CentrifugoFrameHandler(NowPlayingSource.Context context) {
+        this.sink = context.sink();
+        this.metrics = context.metrics();
+        this.fields = context.fields();
+        this.extractor = new NowPlayingExtractor(context.fields());
+        this.logger = context.logger();
+        this.debugLogging = context.debugLogging();
+    }
+
+    /**
+     * Handles one frame. {@code onPing} is run for each Centrifugo ping in it, which arrives
+     * as an empty JSON object. Stream positions and recovery results are collected while the
+     * frame is read and only applied once all of it has parsed, so a malformed reply never
+     * leaves a station resuming past updates that were discarded.
+     */
+    void handle(CharSequence payload, Runnable onPing) {
+        if (payload == null || isBlank(payload)) {
+            return;
+        }
+        boolean record = metrics.isEnabled();
+        long startNanos = record ? System.nanoTime() : 0L;
+        try {
+            String shId = ShIdScanner.find(payload);
+            RadioStation duplicateOf = shId == null ? null : stationWithShId(shId);
+            metrics.recordRadioDuplicateFrame(duplicateOf != null);
+            if (duplicateOf != null) {
+                // The scanner only matches a frame holding one complete object.
+                duplicateOf.advanceStreamPosition(ShIdScanner.findPubOffset(payload));
+                return;
+            }
+            NowPlayingExtractor.Frame frame = extractor.open(payload);
+            Map<RadioStation, JsonObject> updates = new LinkedHashMap<>();
+            List<Runnable> positions = new ArrayList<>();
+            boolean cleared = false;
+            try {
+                NowPlayingExtractor.Reply reply;
+                while ((reply = frame.next()) != null) {
+                    JsonObject root = reply.root();
+                    if (root == null) {
+                        updates.clear();
+                        cleared = true;
+                    } else if (reply.empty()) {
+                        onPing.run();
+                    } else {
+                        handleReply(root, updates, positions);
+                    }
+                }
+            } catch (Exception e) {
+                if (debugLogging) {
+                    logger.log(Level.FINE, "Failed to parse radio now playing message.", e);
+                }
+                sink.songsCleared();
+                return;
+            }
+            if (record) {
+                metrics.recordRadioJsonChars(frame.retainedChars(), frame.skippedChars());
+            }
+            for (Runnable position : positions) {
+                position.run();
+            }
+            if (cleared) {
+                sink.songsCleared();
+            }
+            for (Map.Entry<RadioStation, JsonObject> update : updates.entrySet()) {
+                JsonObject nowPlaying = extractNowPlayingPayload(update.getValue());
+                sink.songChanged(update.getKey(), fields.read(nowPlaying));
+            }
+        } finally {
+            if (record) {
+                metrics.recordRadioHandleMessage(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    /**
+     * Builds the connect command subscribing to every station, resuming each from its last
+     * stream position when there is one.
+     */
+    static String buildSubscribeMessage(Collection<RadioStation> stations) {
+        JsonObject subs = new JsonObject();
+        for (RadioStation station : stations) {
+            if (station.shortcode().isBlank()) {
+                continue;
+            }
+            JsonObject subscription = new JsonObject();
+            subscription.addProperty("recover", true);
+            RadioStation.StreamPosition position = station.streamPosition();
+            if (position != null) {
+                subscription.addProperty("epoch", position.epoch());
+                subscription.addProperty("offset", position.offset());
+            }
+            subs.add(station.channel(), subscription);
+        }
+        if (subs.size() == 0) {
+            return null;
+        }
+        JsonObject root = new JsonObject();
+        root.add("subs", subs);
+        return root.toString();
+    }
+
+    /**
+     * Records the payload holding one reply's now-playing state against its station and queues
+     * its stream position. Applying both is left to the caller so that a batched frame only
+     * applies the last state of each station, and nothing at all when the frame is malformed.
+     */
+    private void handleReply(JsonObject root, Map<RadioStation, JsonObject> updates, List<Runnable> positions) {
+        JsonObject connect = getObject(root, "connect");
+        if (connect != null) {
+            handleConnectPayload(connect, updates, positions);
+            return;
+        }
+        JsonObject pub = getObject(root, "pub");
+        if (pub != null) {
+            RadioStation station = stationForChannel(getString(root, "channel"));
+            if (station != null) {
+                long offset = getLong(pub, "offset");
+                positions.add(() -> station.advanceStreamPosition(offset));
+                updates.put(station, pub);
+            }
+            return;
+        }
+        updates.put(sink.primaryStation(), root);
+    }
+
+    private void handleConnectPayload(
+        JsonObject connect,
+        Map<RadioStation, JsonObject> updates,
+        List<Runnable> positions
+    ) {
+        JsonArray data = getArray(connect, "data");
+        if (data != null) {
+            for (JsonElement element : data) {
+                JsonObject row = asObject(element);
+                RadioStation station = row == null ? null : stationForChannel(getString(row, "channel"));
+                if (station != null) {
+                    updates.put(station, row);
+                }
+            }
+            return;
+        }
+        JsonObject subs = getObject(connect, "subs");
+        if (subs == null) {
+            return;
+        }
+        Map<String, RadioStation> current = sink.stations();
+        for (Map.Entry<String, JsonElement> entry : subs.entrySet()) {
+            RadioStation station = current.get(entry.getKey());
+            JsonObject sub = asObject(entry.getValue());
+            if (station == null || sub == null) {
+                continue;
+            }
+            JsonObject newest = handleSubscribeReply(station, sub, positions);
+            if (newest != null) {
+                updates.put(station, newest);
+            }
+        }
+    }
+
+    /**
+     * Handles the reply to a station subscription. The reply carries the stream position to
+     * resubscribe from and either the publications missed since the previous position or, when
+     * recovery was not possible, the channel history. Only the newest publication matters for
+     * the current song, so older ones are never announced. The new position and the recovery
+     * result are queued on {@code positions}.
+     */
+    private JsonObject handleSubscribeReply(RadioStation station, JsonObject sub, List<Runnable> positions) {
+        boolean resumed = station.streamPosition() != null;
+        boolean recovered = resumed && getBoolean(sub, "recovered");
+        JsonObject newest = newestPublication(getArray(sub, "publications"));
+        String epoch = getString(sub, "epoch");
+        long offset = Math.max(getLong(sub, "offset"), getLong(newest, "offset"));
+        boolean restored = newest == null && recovered;
+        positions.add(() -> {
+            if (resumed) {
+                metrics.recordRadioRecovery(recovered);
+            }
+            station.updateStreamPosition(epoch, offset);
+            if (restored) {
+                sink.songRestored(station);
+            }
+        });
+        return newest;
+    }
+
+    /**
+     * Returns the station a frame belongs to. Frames without a channel come from
+     * single-station setups and belong to the primary station; unknown channels are ignored.
+     */
+    private RadioStation stationForChannel(String channel) {
+        if (channel == null) {
+            return sink.primaryStation();
+        }
+        return sink.stations().get(channel);
+    }
+
+    /**
+     * Returns the station whose last processed song has this history id. AzuraCast history ids
+     * are unique across stations, so at most one station matches.
+     */
+    private RadioStation stationWithShId(String shId) {
+        for (RadioStation station : sink.stations().values()) {
+            if (shId.equals(station.lastProcessedShId())) {
+                return station;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the publication with the highest offset, or the last one when offsets are absent.
+     */
+    private static JsonObject newestPublication(JsonArray publications) {
+        if (publications == null) {
+            return null;
+        }
+        JsonObject newest = null;
+        long newestOffset = -1L;
+        for (JsonElement element : publications) {
+            JsonObject publication = asObject(element);
+            if (publication == null) {
+                continue;
+            }
+            long offset = getLong(publication, "offset");
+            if (offset >= newestOffset) {
+                newest = publication;
+                newestOffset = offset;
+            }
+        }
+        return newest;
+    }
+
+    private static JsonObject extractNowPlayingPayload(JsonObject root) {
+        if (root == null) {
+            return null;
+        }
+        JsonObject candidate = root;
+        JsonObject data = getObject(candidate, "data");
+        if (data != null) {
+            candidate = data;
+        }
+        JsonObject np = getObject(candidate, "np");
+        if (np != null) {
+            candidate = np;
+        }
+        JsonObject nowPlaying = getObject(candidate, "now_playing");
+        if (nowPlaying != null) {
+            return nowPlaying;
+        }
+        JsonObject currentSong = getObject(candidate, "current_song");
+        return currentSong != null ? currentSong : candidate;
+    }
+
+    private static JsonObject asObject(JsonElement element) {
+        if (element == null || !element.isJsonObject()) {
+            return null;
+        }
+        return element.getAsJsonObject();
+    }
+
+    private static JsonObject getObject(JsonObject parent, String key) {
+        if (parent == null || !parent.has(key)) {
+            return null;
+        }
+        JsonElement element = parent.get(key);
+        if (element == null || !element.isJsonObject()) {
+            return null;
+        }
+        return element.getAsJsonObject();
+    }
+
+    private static JsonArray getArray(JsonObject parent, String key) {
+        if (parent == null || !parent.has(key)) {
+            return null;
+        }
+        JsonElement element = parent.get(key);
+        if (element == null || !element.isJsonArray()) {
+            return null;
+        }
+        return element.getAsJsonArray();
+    }
+
+    private static String getString(JsonObject parent, String key) {
+        if (parent == null || !parent.has(key)) {
+            return null;
+        }
+        JsonElement element = parent.get(key);
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        try {
+            return element.getAsString();
+        } catch (UnsupportedOperationException ignored) {
+            return element.toString();
+        }
+    }
+
+    private static long getLong(JsonObject parent, String key) {
+        if (parent == null || !parent.has(key)) {
+            return -1L;
+        }
+        JsonElement element = parent.get(key);
+        if (element == null || !element.isJsonPrimitive()) {
+            return -1L;
+        }
+        try {
+            return element.getAsLong();
+        } catch (NumberFormatException ignored) {
+            return -1L;
+        }
+    }
+
+    private static boolean getBoolean(JsonObject parent, String key) {
+        if (parent == null || !parent.has(key)) {
+            return false;
+        }
+        JsonElement element = parent.get(key);
+        return element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isBoolean()
+            && element.getAsBoolean();
+    }
+
+    private static boolean isBlank(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,315 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pulls the now-playing fields out of AzuraCast websocket and SSE frames with a streaming
+ * reader.
+ *
+ * <p>Only the envelopes ({@code connect.data}, {@code connect.subs.*.publications},
+ * {@code pub}, {@code data.np}), the Centrifugo recovery fields and the configured
+ * {@link SongFields} are materialized, into a small {@link JsonObject} with the same layout
+ * as the frame. Every other subtree, such as listeners, playlists and song history, is
+ * skipped by the reader without being built.</p>
+ */
+final class NowPlayingExtractor {
+    private static final Shape SCALAR = new Shape();
+
+    private final Shape root;
+
+    NowPlayingExtractor(SongFields fields) {
+        this.root = buildRootShape(fields);
+    }
+
+    /**
+     * Opens a frame for reading. Replies are only parsed as {@link Frame#next()} is called.
+     */
+    Frame open(CharSequence frame) {
+        return new Frame(frame, root);
+    }
+
+    private static JsonElement readValue(JsonReader reader, Shape shape, Counter retained) throws IOException {
+        if (shape == SCALAR) {
+            JsonElement value = JsonParser.parseReader(reader);
+            if (value instanceof JsonPrimitive primitive) {
+                retained.chars += primitive.getAsString().length();
+            }
+            return value;
+        }
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BEGIN_OBJECT && shape.hasFields()) {
+            reader.beginObject();
+            return readFields(reader, shape, retained);
+        }
+        if (token == JsonToken.BEGIN_ARRAY && (shape.elements != null || shape.hasFields())) {
+            Shape elements = shape.elements != null ? shape.elements : shape;
+            JsonArray array = new JsonArray();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                JsonElement element = readValue(reader, elements, retained);
+                if (element != null) {
+                    array.add(element);
+                }
+            }
+            reader.endArray();
+            return array;
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    /**
+     * Reads the fields of an object whose opening brace was already consumed.
+     */
+    private static JsonObject readFields(JsonReader reader, Shape shape, Counter retained) throws IOException {
+        JsonObject object = new JsonObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            Shape child = shape.fields.get(name);
+            if (child == null) {
+                child = shape.anyField;
+            }
+            if (child == null) {
+                reader.skipValue();
+                continue;
+            }
+            JsonElement value = readValue(reader, child, retained);
+            if (value != null) {
+                retained.chars += name.length();
+                object.add(name, value);
+            }
+        }
+        reader.endObject();
+        return object;
+    }
+
+    /**
+     * Builds the shape of every field the radio service reads. A now-playing payload may be
+     * wrapped in {@code data} and then {@code np}, and holds the song either under
+     * {@code now_playing}, under {@code current_song} or at its own level. Objects on a song
+     * field path may also be arrays of such objects.
+     */
+    private static Shape buildRootShape(SongFields fields) {
+        Shape nowPlaying = new Shape()
+            .field("sh_id", SCALAR);
+        for (String path : fields.paths()) {
+            nowPlaying.path(path.split("\\."), 0);
+        }
+        Shape np = new Shape()
+            .copyFields(nowPlaying)
+            .field("now_playing", nowPlaying)
+            .field("current_song", nowPlaying);
+        Shape data = new Shape()
+            .copyFields(np)
+            .field("np", np);
+        Shape payload = new Shape()
+            .copyFields(data)
+            .field("data", data);
+        Shape publication = new Shape()
+            .copyFields(payload)
+            .field("channel", SCALAR)
+            .field("offset", SCALAR);
+        Shape subscription = new Shape()
+            .field("publications", Shape.arrayOf(publication))
+            .field("epoch", SCALAR)
+            .field("offset", SCALAR)
+            .field("recovered", SCALAR);
+        Shape connect = new Shape()
+            .field("data", Shape.arrayOf(publication))
+            .field("subs", new Shape().anyField(subscription));
+        return new Shape()
+            .copyFields(payload)
+            .field("channel", SCALAR)
+            .field("connect", connect)
+            .field("pub", publication);
+    }
+
+    /**
+     * The replies of one frame. Centrifugo may batch several replies into a frame, separated
+     * by newlines; the lenient reader walks them in order straight from the frame.
+     */
+    static final class Frame {
+        private final JsonReader reader;
+        private final Shape root;
+        private final long frameChars;
+        private final Counter retained = new Counter();
+
+        private Frame(CharSequence frame, Shape root) {
+            this.root = root;
+            this.reader = new JsonReader(new CharSequenceReader(frame));
+            this.reader.setStrictness(Strictness.LENIENT);
+            this.frameChars = frame.length();
+        }
+
+        /**
+         * Reads the next reply, or returns {@code null} once the frame is exhausted.
+         *
+         * @throws IOException if the reply is not valid JSON
+         */
+        Reply next() throws IOException {
+            JsonToken token = reader.peek();
+            if (token == JsonToken.END_DOCUMENT) {
+                return null;
+            }
+            if (token != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                return new Reply(null, false);
+            }
+            reader.beginObject();
+            boolean empty = !reader.hasNext();
+            return new Reply(readFields(reader, root, retained), empty);
+        }
+
+        long retainedChars() {
+            return retained.chars;
+        }
+
+        /**
+         * Returns how many characters of the frame were not materialized. Only meaningful once
+         * every reply has been read.
+         */
+        long skippedChars() {
+            return Math.max(0L, frameChars - retained.chars);
+        }
+    }
+
+    /**
+     * The fields kept from one reply. The root is {@code null} when the reply is not a JSON
+     * object, and {@code empty} marks a Centrifugo ping.
+     */
+    record Reply(JsonObject root, boolean empty) {
+    }
+
+    /**
+     * Reads a char sequence in place. Strings and char buffers are copied in bulk straight
+     * into the JSON reader's buffer, so the frame itself is never copied.
+     */
+    private static final class CharSequenceReader extends Reader {
+        private final CharSequence source;
+        private int position;
+
+        private CharSequenceReader(CharSequence source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read(char[] target, int offset, int length) {
+            int remaining = source.length() - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int count = Math.min(length, remaining);
+            if (source instanceof String string) {
+                string.getChars(position, position + count, target, offset);
+            } else if (source instanceof CharBuffer buffer) {
+                buffer.get(buffer.position() + position, target, offset, count);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    target[offset + i] = source.charAt(position + i);
+                }
+            }
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class Counter {
+        private long chars;
+    }
+
+    private static final class Shape {
+        private final Map<String, Shape> fields = new HashMap<>();
+        private Shape anyField;
+        private Shape elements;
+
+        private static Shape arrayOf(Shape elements) {
+            Shape shape = new Shape();
+            shape.elements = elements;
+            return shape;
+        }
+
+        private Shape field(String name, Shape shape) {
+            fields.put(name, shape);
+            return this;
+        }
+
+        private Shape anyField(Shape shape) {
+            anyField = shape;
+            return this;
+        }
+
+        /**
+         * Adds a dot-separated field path below this shape. Numeric segments are skipped since
+         * arrays keep every element, and a path ending on an object keeps it whole.
+         */
+        private void path(String[] segments, int index) {
+            while (index < segments.length && isIndex(segments[index])) {
+                index++;
+            }
+            if (index >= segments.length) {
+                return;
+            }
+            String name = segments[index];
+            Shape child = fields.get(name);
+            if (child == SCALAR) {
+                return;
+            }
+            if (!hasRemainingField(segments, index + 1)) {
+                fields.put(name, SCALAR);
+                return;
+            }
+            if (child == null) {
+                child = new Shape();
+                fields.put(name, child);
+            }
+            child.path(segments, index + 1);
+        }
+
+        private static boolean hasRemainingField(String[] segments, int index) {
+            for (int i = index; i < segments.length; i++) {
+                if (!isIndex(segments[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isIndex(String segment) {
+            if (segment.isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < segment.length(); i++) {
+                if (!Character.isDigit(segment.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Shape copyFields(Shape other) {
+            fields.putAll(other.fields);
+            return this;
+        }
+
+        private boolean hasFields() {
+            return !fields.isEmpty() || anyField != null;
+        }
+    }
+}
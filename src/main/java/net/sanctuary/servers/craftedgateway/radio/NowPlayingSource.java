@@ -0,0 +1,142 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * A way of learning what the radio stations are playing. Sources only fetch and parse; every
+ * song they read goes to a shared {@link Sink}, which deduplicates, caches and announces it.
+ *
+ * <p>A source is built from one snapshot of the configuration and is replaced, not changed,
+ * on reload. {@link #start()} and {@link #stop()} are each called at most once.</p>
+ */
+interface NowPlayingSource {
+    /**
+     * The {@code radio.source} value that selects this source.
+     */
+    String type();
+
+    void start();
+
+    void stop();
+
+    Status status();
+
+    /**
+     * Connection state reported by {@code /radio status} and the metrics log.
+     * {@code lastMessageAgeMillis} is {@code -1} while nothing has been received.
+     */
+    record Status(
+        boolean connected,
+        String circuitState,
+        int consecutiveFailures,
+        long millisUntilNextAttempt,
+        long lastMessageAgeMillis
+    ) {
+    }
+
+    /**
+     * What a source needs from the radio service. Nothing in it requires a running server,
+     * so a source can be pointed at a local stand-in server.
+     */
+    record Context(
+        Logger logger,
+        Scheduler scheduler,
+        HttpClient httpClient,
+        RadioMetrics metrics,
+        ReconnectPolicy reconnectPolicy,
+        Sink sink,
+        SongFields fields,
+        boolean debugLogging
+    ) {
+    }
+
+    /**
+     * Runs a source's timers off the main thread. Delays and intervals are in server ticks.
+     */
+    interface Scheduler {
+        Task runRepeating(Runnable action, long delayTicks, long intervalTicks);
+
+        Task runLater(Runnable action, long delayTicks);
+
+        /**
+         * Returns a scheduler backed by the Bukkit scheduler's async tasks.
+         */
+        static Scheduler bukkit(Plugin plugin) {
+            return new Scheduler() {
+                @Override
+                public Task runRepeating(Runnable action, long delayTicks, long intervalTicks) {
+                    BukkitTask task = Bukkit.getScheduler().runTaskTimerAsynchronously(
+                        plugin,
+                        action,
+                        delayTicks,
+                        intervalTicks
+                    );
+                    return task::cancel;
+                }
+
+                @Override
+                public Task runLater(Runnable action, long delayTicks) {
+                    BukkitTask task = Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, action, delayTicks);
+                    return task::cancel;
+                }
+            };
+        }
+    }
+
+    /**
+     * A scheduled task that can be cancelled.
+     */
+    interface Task {
+        void cancel();
+
+        /**
+         * Cancels a task that may be {@code null} and returns {@code null}, for clearing the
+         * field that held it.
+         */
+        static Task cancelAndClear(Task task) {
+            if (task != null) {
+                task.cancel();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The downstream pipeline shared by every source. Calls may come from any thread.
+     */
+    interface Sink {
+        /**
+         * The configured stations keyed by Centrifugo channel, primary station first.
+         */
+        Map<String, RadioStation> stations();
+
+        RadioStation primaryStation();
+
+        /**
+         * Records the current song of a station; {@code null} means nothing is playing.
+         */
+        void songChanged(RadioStation station, SongInfo song);
+
+        /**
+         * Restores the song a station had before the connection dropped, after a resume that
+         * missed nothing.
+         */
+        void songRestored(RadioStation station);
+
+        /**
+         * Hides every station's song while the source is disconnected.
+         */
+        void connectionLost();
+
+        /**
+         * Forgets every station's song after a message that could not be read.
+         */
+        void songsCleared();
+    }
+}
@@ -0,0 +1,278 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Polls a now-playing JSON endpoint, such as Icecast's {@code status-json.xsl} or AzuraCast's
+ * {@code /api/nowplaying/<shortcode>}, for servers that cannot push updates.
+ *
+ * <p>Requests are conditional: the {@code ETag} and {@code Last-Modified} of each station's
+ * last response are sent back, so an unchanged song costs a {@code 304} without a body.
+ * A URL containing {@code {shortcode}} is polled once per station; any other URL only feeds
+ * the primary station.</p>
+ *
+ * <p>A station whose poll fails keeps its last song and is retried on the next cycle, so one
+ * dead mount does not disturb the others. Only a cycle in which every station failed counts
+ * as a lost connection and goes through the shared {@link ReconnectPolicy}, so a dead server
+ * is polled less often and eventually trips the circuit breaker.</p>
+ */
+final class PollingNowPlayingSource implements NowPlayingSource {
+    static final String TYPE = "poll";
+
+    private static final String SHORTCODE_PLACEHOLDER = "{shortcode}";
+
+    private final NowPlayingSource.Context context;
+    private final String urlTemplate;
+    private final long intervalTicks;
+    private final Duration requestTimeout;
+    private final Map<String, Validators> validators = new ConcurrentHashMap<>();
+    private final AtomicBoolean cycleInFlight = new AtomicBoolean();
+    private final Set<String> failing = ConcurrentHashMap.newKeySet();
+    private final Object taskLock = new Object();
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile long lastResponseMillis;
+    private NowPlayingSource.Task pollTask;
+
+    PollingNowPlayingSource(
+        NowPlayingSource.Context context,
+        String urlTemplate,
+        long intervalTicks,
+        Duration requestTimeout
+    ) {
+        this.context = context;
+        this.urlTemplate = urlTemplate;
+        this.intervalTicks = Math.max(1L, intervalTicks);
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        synchronized (taskLock) {
+            NowPlayingSource.Task.cancelAndClear(pollTask);
+            pollTask = context.scheduler().runRepeating(this::pollAll, 0L, intervalTicks);
+        }
+    }
+
+    @Override
+    public void stop() {
+        synchronized (taskLock) {
+            running = false;
+            pollTask = NowPlayingSource.Task.cancelAndClear(pollTask);
+        }
+    }
+
+    @Override
+    public NowPlayingSource.Status status() {
+        ReconnectPolicy.Snapshot snapshot = context.reconnectPolicy().snapshot();
+        long lastResponse = lastResponseMillis;
+        long lastMessageAge = lastResponse == 0L ? -1L : Math.max(0L, System.currentTimeMillis() - lastResponse);
+        return new NowPlayingSource.Status(
+            connected,
+            snapshot.state().displayName(),
+            snapshot.consecutiveFailures(),
+            snapshot.millisUntilNextAttempt(),
+            lastMessageAge
+        );
+    }
+
+    private void pollAll() {
+        ReconnectPolicy policy = context.reconnectPolicy();
+        if (!running || policy.snapshot().millisUntilNextAttempt() > 0L) {
+            return;
+        }
+        List<RadioStation> stations = targets();
+        if (stations.isEmpty() || !cycleInFlight.compareAndSet(false, true)) {
+            return;
+        }
+        policy.recordAttempt();
+        Cycle cycle = new Cycle(stations.size());
+        for (RadioStation station : stations) {
+            poll(station, cycle);
+        }
+    }
+
+    private List<RadioStation> targets() {
+        if (urlTemplate.contains(SHORTCODE_PLACEHOLDER)) {
+            return List.copyOf(context.sink().stations().values());
+        }
+        return List.of(context.sink().primaryStation());
+    }
+
+    private void poll(RadioStation station, Cycle cycle) {
+        String key = station.channel();
+        HttpRequest request;
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(
+                    URI.create(urlTemplate.replace(SHORTCODE_PLACEHOLDER, station.shortcode()))
+                )
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET();
+            Validators previous = validators.get(key);
+            if (previous != null) {
+                previous.apply(builder);
+            }
+            request = builder.build();
+        } catch (IllegalArgumentException e) {
+            stationFailed(station, cycle, e);
+            return;
+        }
+        context.httpClient().sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .whenComplete((response, error) -> {
+                if (!running) {
+                    return;
+                }
+                if (error != null) {
+                    stationFailed(station, cycle, error);
+                } else {
+                    handleResponse(station, cycle, response);
+                }
+            });
+    }
+
+    private void handleResponse(RadioStation station, Cycle cycle, HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status == 304) {
+            stationSucceeded(station, cycle);
+            return;
+        }
+        if (status != 200) {
+            stationFailed(station, cycle, new IOException("HTTP " + status));
+            return;
+        }
+        JsonElement root;
+        try {
+            root = JsonParser.parseString(response.body());
+        } catch (JsonParseException e) {
+            stationFailed(station, cycle, e);
+            return;
+        }
+        validators.put(station.channel(), Validators.of(response));
+        context.metrics().recordRadioFrame(true);
+        context.sink().songChanged(station, context.fields().read(root));
+        stationSucceeded(station, cycle);
+    }
+
+    private void stationSucceeded(RadioStation station, Cycle cycle) {
+        lastResponseMillis = System.currentTimeMillis();
+        if (failing.remove(station.channel())) {
+            context.logger().info("Radio poll for " + station.name() + " recovered.");
+        }
+        cycle.stationDone(true);
+    }
+
+    /**
+     * Records a failed poll of one station. Its validators are dropped so that the next
+     * successful poll returns a full body and restores a song hidden in the meantime. Only
+     * the first of a run of failures is logged as a warning, and the recovery is logged too.
+     */
+    private void stationFailed(RadioStation station, Cycle cycle, Throwable error) {
+        validators.remove(station.channel());
+        boolean first = failing.add(station.channel());
+        if (context.debugLogging()) {
+            context.logger().log(Level.FINE, "Radio poll for " + station.name() + " failed.", error);
+        } else if (first) {
+            context.logger().warning("Radio poll for " + station.name() + " failed: " + error.getMessage());
+        }
+        cycle.stationDone(false);
+    }
+
+    private void cycleSucceeded() {
+        if (!connected) {
+            connected = true;
+            context.reconnectPolicy().recordConnected();
+        }
+    }
+
+    /**
+     * Records a cycle in which every station failed: the songs are hidden until the server
+     * answers again and the failure counts towards the backoff and circuit breaker.
+     */
+    private void cycleFailed() {
+        connected = false;
+        context.sink().connectionLost();
+        ReconnectPolicy.Backoff backoff = context.reconnectPolicy().recordFailure();
+        if (backoff.circuitOpened()) {
+            context.logger().warning(
+                "Radio poll failed " + backoff.consecutiveFailures()
+                    + " times in a row; pausing polls for " + backoff.delayMillis() / 1000L + "s."
+            );
+        }
+    }
+
+    /**
+     * Collects the outcome of one poll of every target station. The next cycle only starts
+     * once every poll of this one has completed, so each cycle sees the validators of the
+     * previous one and judges every station.
+     */
+    private final class Cycle {
+        private final AtomicInteger pending;
+        private volatile boolean anySucceeded;
+
+        Cycle(int stations) {
+            this.pending = new AtomicInteger(stations);
+        }
+
+        void stationDone(boolean succeeded) {
+            if (succeeded) {
+                anySucceeded = true;
+            }
+            if (pending.decrementAndGet() != 0) {
+                return;
+            }
+            cycleInFlight.set(false);
+            if (!running) {
+                return;
+            }
+            if (anySucceeded) {
+                cycleSucceeded();
+            } else {
+                cycleFailed();
+            }
+        }
+    }
+
+    /**
+     * The cache validators of a station's last full response.
+     */
+    private record Validators(String etag, String lastModified) {
+        static Validators of(HttpResponse<?> response) {
+            return new Validators(
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null)
+            );
+        }
+
+        void apply(HttpRequest.Builder builder) {
+            if (etag != null) {
+                builder.header("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                builder.header("If-Modified-Since", lastModified);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+/**
+ * The metrics recorded while reading now-playing updates. Implemented by the plugin's
+ * metrics service; calls may come from any thread.
+ */
+public interface RadioMetrics {
+    boolean isEnabled();
+
+    void recordRadioHandleMessage(long durationNanos);
+
+    void recordRadioFrame(boolean accepted);
+
+    void recordRadioDuplicateFrame(boolean skipped);
+
+    void recordRadioRecovery(boolean recovered);
+
+    void recordRadioJsonChars(long retainedChars, long skippedChars);
+}
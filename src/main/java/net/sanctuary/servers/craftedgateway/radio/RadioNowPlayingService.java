@@ -1,9 +1,5 @@
 package net.sanctuary.servers.craftedgateway.radio;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
@@ -11,22 +7,26 @@ import net.sanctuary.servers.craftedgateway.CraftedGatewayPlugin;
 import net.sanctuary.servers.craftedgateway.config.ConfigKeys;
 import net.sanctuary.servers.craftedgateway.config.ConfigUtils;
 import net.sanctuary.servers.craftedgateway.metrics.MetricsService;
+import net.sanctuary.servers.craftedgateway.text.CompiledTemplate;
 import net.sanctuary.servers.craftedgateway.text.MessageTemplate;
 import net.sanctuary.servers.craftedgateway.util.SchedulerSupport;
 import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.WebSocket;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionStage;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.logging.Level;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class RadioNowPlayingService {
     private static final String DEFAULT_WEBSOCKET_URL =
@@ -36,34 +36,55 @@ public final class RadioNowPlayingService {
     private static final String DEFAULT_STATION_SHORTCODE = "sanctuary_radio";
     private static final String NOW_PLAYING_PATH_PREFIX = "/api/live/nowplaying/";
     private static final String WEBSOCKET_PATH = "/api/live/nowplaying/websocket";
+    private static final String WEBSOCKET_SUFFIX = "/websocket";
+    private static final String SSE_SUFFIX = "/sse";
     private static final String DEFAULT_URL_LABEL = "Listen Now";
     private static final String DEFAULT_MESSAGE_FORMAT =
         "<gold>[Radio]</gold> <yellow>{song}</yellow> <gray>-</gray> <aqua>{url}</aqua>";
     private static final int DEFAULT_RECONNECT_SECONDS = 10;
     private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
     private static final boolean DEFAULT_ANNOUNCEMENT_ENABLED = true;
+    private static final int DEFAULT_RECONNECT_MAX_DELAY_SECONDS = 300;
+    private static final int DEFAULT_RECONNECT_STABLE_SECONDS = 60;
+    private static final int DEFAULT_CIRCUIT_FAILURE_THRESHOLD = 5;
+    private static final int DEFAULT_CIRCUIT_OPEN_SECONDS = 300;
+    private static final int DEFAULT_HEARTBEAT_INTERVAL_SECONDS = 20;
+    private static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 60;
+    private static final int DEFAULT_POLL_INTERVAL_SECONDS = 15;
+    private static final int DEFAULT_MAX_FRAME_CHARS = 262_144;
+    private static final int DEFAULT_ANNOUNCEMENT_COALESCE_TICKS = 40;
+    private static final String PRIMARY_STATION = "main";
+    private static final String SONG_KEY_PREFIX = "song:";
+    private static final int STATION_SONG_SLOT_OFFSET = 5;
 
     private final CraftedGatewayPlugin plugin;
     private final BukkitAudiences audiences;
     private final HttpClient httpClient;
-    private final Object connectionLock = new Object();
-    private final AtomicReference<String> lastSongKey = new AtomicReference<>();
+    private final Object sourceLock = new Object();
+    private final Object songTextLock = new Object();
     private final MetricsService metrics;
+    private final List<Runnable> songChangeListeners = new CopyOnWriteArrayList<>();
+    private final ReconnectPolicy reconnectPolicy = new ReconnectPolicy();
+    private final Pipeline pipeline = new Pipeline();
 
     private volatile boolean enabled;
     private volatile boolean debugLogging;
+    private volatile String sourceType;
     private volatile String websocketUrl;
-    private volatile String stationUrl;
-    private volatile String stationShortcode;
+    private volatile String sseUrl;
+    private volatile String pollUrl;
+    private volatile long pollIntervalTicks;
+    private volatile SongFields songFields;
     private volatile String urlLabel;
-    private volatile String subscribeMessage;
-    private volatile String messageFormat;
     private volatile int reconnectDelaySeconds;
-    private volatile boolean announcementEnabled;
-    private volatile String lastSongText;
-    private volatile WebSocket webSocket;
-    private volatile BukkitTask reconnectTask;
-    private volatile boolean connecting;
+    private volatile int maxFrameChars;
+    private volatile long heartbeatIntervalTicks;
+    private volatile long idleTimeoutMillis;
+    private volatile long announcementCoalesceTicks;
+    private volatile Map<String, RadioStation> stations;
+    private volatile RadioStation primaryStation;
+    private volatile Map<String, String> songTexts = Map.of();
+    private volatile NowPlayingSource source;
 
     public RadioNowPlayingService(
         CraftedGatewayPlugin plugin,
@@ -76,14 +97,24 @@ public final class RadioNowPlayingService {
         this.httpClient = HttpClient.newBuilder()
             .connectTimeout(CONNECT_TIMEOUT)
             .build();
+        this.sourceType = WebSocketNowPlayingSource.TYPE;
         this.websocketUrl = DEFAULT_WEBSOCKET_URL;
-        this.stationUrl = DEFAULT_STATION_URL;
-        this.stationShortcode = DEFAULT_STATION_SHORTCODE;
+        this.pollIntervalTicks = DEFAULT_POLL_INTERVAL_SECONDS * 20L;
+        this.songFields = SongFields.azuraCast();
         this.urlLabel = DEFAULT_URL_LABEL;
-        this.subscribeMessage = buildSubscribeMessage(this.stationShortcode);
-        this.messageFormat = DEFAULT_MESSAGE_FORMAT;
+        RadioStation primary = new RadioStation(PRIMARY_STATION, DEFAULT_STATION_SHORTCODE);
+        primary.configure(
+            DEFAULT_STATION_URL,
+            compileMessageTemplate(DEFAULT_MESSAGE_FORMAT, List.of(PRIMARY_STATION)),
+            DEFAULT_ANNOUNCEMENT_ENABLED
+        );
+        this.primaryStation = primary;
+        this.stations = Map.of(primary.channel(), primary);
         this.reconnectDelaySeconds = DEFAULT_RECONNECT_SECONDS;
-        this.announcementEnabled = DEFAULT_ANNOUNCEMENT_ENABLED;
+        this.maxFrameChars = DEFAULT_MAX_FRAME_CHARS;
+        this.heartbeatIntervalTicks = DEFAULT_HEARTBEAT_INTERVAL_SECONDS * 20L;
+        this.idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_SECONDS * 1000L;
+        this.announcementCoalesceTicks = DEFAULT_ANNOUNCEMENT_COALESCE_TICKS;
     }
 
     public void start() {
@@ -92,10 +123,9 @@ public final class RadioNowPlayingService {
 
     public void stop() {
         enabled = false;
-        cancelReconnect();
-        closeSocket();
-        lastSongKey.set(null);
-        clearLastSongText();
+        stopSource();
+        resetStations();
+        clearSongTexts();
     }
 
     public void reload() {
@@ -107,6 +137,8 @@ public final class RadioNowPlayingService {
         FileConfiguration config = plugin.getConfig();
         enabled = config.getBoolean(ConfigKeys.Radio.ENABLED, false);
         debugLogging = config.getBoolean(ConfigKeys.Radio.DEBUG_LOGGING, false);
+        sourceType = ConfigUtils.getNormalizedString(config, ConfigKeys.Radio.SOURCE, WebSocketNowPlayingSource.TYPE)
+            .toLowerCase(Locale.ROOT);
         boolean configUpdated = false;
         String normalizedWebsocketUrl = ConfigUtils.getNormalizedString(
             config,
@@ -121,11 +153,23 @@ public final class RadioNowPlayingService {
             normalizedWebsocketUrl = migratedWebsocketUrl;
         }
         websocketUrl = normalizedWebsocketUrl;
-        stationUrl = ConfigUtils.getNormalizedString(config, ConfigKeys.Radio.STATION_URL, DEFAULT_STATION_URL);
+        String configuredSseUrl = ConfigUtils.getNormalizedOptional(config, ConfigKeys.Radio.SSE_URL);
+        sseUrl = configuredSseUrl != null ? configuredSseUrl : deriveSseUrl(websocketUrl);
+        pollUrl = ConfigUtils.getNormalizedOptional(config, ConfigKeys.Radio.POLL_URL);
+        pollIntervalTicks = Math.max(
+            1,
+            config.getInt(ConfigKeys.Radio.POLL_INTERVAL_SECONDS, DEFAULT_POLL_INTERVAL_SECONDS)
+        ) * 20L;
+        songFields = SongFields.fromConfig(
+            config,
+            ConfigKeys.Radio.fields(sourceType),
+            PollingNowPlayingSource.TYPE.equals(sourceType) ? SongFields.icecast() : SongFields.azuraCast()
+        );
+        String stationUrl = ConfigUtils.getNormalizedString(config, ConfigKeys.Radio.STATION_URL, DEFAULT_STATION_URL);
         urlLabel = ConfigUtils.getNormalizedString(config, ConfigKeys.Radio.URL_LABEL, DEFAULT_URL_LABEL);
         String configuredShortcode = ConfigUtils.getNormalizedOptional(config, ConfigKeys.Radio.STATION_SHORTCODE);
         String derivedShortcode = resolveStationShortcode(null, websocketUrl, stationUrl);
-        stationShortcode = resolveStationShortcode(configuredShortcode, websocketUrl, stationUrl);
+        String stationShortcode = resolveStationShortcode(configuredShortcode, websocketUrl, stationUrl);
         if (stationShortcode != null
             && (configuredShortcode == null
                 || (DEFAULT_STATION_SHORTCODE.equals(configuredShortcode)
@@ -134,260 +178,299 @@ public final class RadioNowPlayingService {
             config.set(ConfigKeys.Radio.STATION_SHORTCODE, stationShortcode);
             configUpdated = true;
         }
-        subscribeMessage = buildSubscribeMessage(stationShortcode);
-        messageFormat = ConfigUtils.getNormalizedString(
+        String messageFormat = ConfigUtils.getNormalizedString(
             config,
             ConfigKeys.Radio.MESSAGE_FORMAT,
             DEFAULT_MESSAGE_FORMAT
         );
+        List<StationSettings> stationSettings = new ArrayList<>();
+        stationSettings.add(new StationSettings(
+            PRIMARY_STATION,
+            stationShortcode,
+            stationUrl,
+            messageFormat,
+            config.getBoolean(ConfigKeys.Radio.ANNOUNCEMENT_ENABLED, DEFAULT_ANNOUNCEMENT_ENABLED)
+        ));
+        readAdditionalStations(config, messageFormat, stationSettings);
+        configureStations(stationSettings);
         reconnectDelaySeconds = Math.max(
             1,
             config.getInt(ConfigKeys.Radio.RECONNECT_DELAY_SECONDS, DEFAULT_RECONNECT_SECONDS)
         );
-        announcementEnabled = config.getBoolean(
-            ConfigKeys.Radio.ANNOUNCEMENT_ENABLED,
-            DEFAULT_ANNOUNCEMENT_ENABLED
+        reconnectPolicy.configure(
+            reconnectDelaySeconds * 1000L,
+            Math.max(1, config.getInt(
+                ConfigKeys.Radio.RECONNECT_MAX_DELAY_SECONDS,
+                DEFAULT_RECONNECT_MAX_DELAY_SECONDS
+            )) * 1000L,
+            Math.max(0, config.getInt(
+                ConfigKeys.Radio.RECONNECT_STABLE_SECONDS,
+                DEFAULT_RECONNECT_STABLE_SECONDS
+            )) * 1000L,
+            config.getInt(ConfigKeys.Radio.CIRCUIT_FAILURE_THRESHOLD, DEFAULT_CIRCUIT_FAILURE_THRESHOLD),
+            Math.max(1, config.getInt(ConfigKeys.Radio.CIRCUIT_OPEN_SECONDS, DEFAULT_CIRCUIT_OPEN_SECONDS)) * 1000L
+        );
+        heartbeatIntervalTicks = Math.max(
+            1,
+            config.getInt(ConfigKeys.Radio.HEARTBEAT_INTERVAL_SECONDS, DEFAULT_HEARTBEAT_INTERVAL_SECONDS)
+        ) * 20L;
+        idleTimeoutMillis = Math.max(
+            1,
+            config.getInt(ConfigKeys.Radio.IDLE_TIMEOUT_SECONDS, DEFAULT_IDLE_TIMEOUT_SECONDS)
+        ) * 1000L;
+        maxFrameChars = Math.max(
+            1_024,
+            config.getInt(ConfigKeys.Radio.MAX_FRAME_CHARS, DEFAULT_MAX_FRAME_CHARS)
+        );
+        announcementCoalesceTicks = Math.max(
+            0,
+            config.getInt(ConfigKeys.Radio.ANNOUNCEMENT_COALESCE_TICKS, DEFAULT_ANNOUNCEMENT_COALESCE_TICKS)
         );
         if (configUpdated) {
             plugin.saveConfig();
         }
     }
 
-    private void reconnect() {
-        closeSocket();
-        cancelReconnect();
-        lastSongKey.set(null);
-        clearLastSongText();
-        if (!enabled) {
-            return;
-        }
-        if (websocketUrl == null || websocketUrl.isBlank()) {
-            plugin.getLogger().warning("Radio websocket URL is not configured; disabling radio updates.");
-            enabled = false;
+    /**
+     * Reads the stations listed under {@code radio.stations}. Each entry is keyed by the name
+     * used in {@code {song:<name>}} placeholders and needs at least a shortcode.
+     */
+    private void readAdditionalStations(
+        FileConfiguration config,
+        String messageFormat,
+        List<StationSettings> stationSettings
+    ) {
+        ConfigurationSection section = config.getConfigurationSection(ConfigKeys.Radio.STATIONS);
+        if (section == null) {
             return;
         }
-        if (stationShortcode == null || stationShortcode.isBlank()) {
-            plugin.getLogger().warning("Radio station shortcode is not configured; disabling radio updates.");
-            enabled = false;
-            return;
+        Set<String> names = new HashSet<>();
+        Set<String> shortcodes = new HashSet<>();
+        for (StationSettings settings : stationSettings) {
+            names.add(settings.name());
+            shortcodes.add(settings.shortcode());
         }
-        connect();
-    }
-
-    private void connect() {
-        synchronized (connectionLock) {
-            if (!enabled || connecting || webSocket != null) {
-                return;
+        for (String name : section.getKeys(false)) {
+            String shortcode = ConfigUtils.getNormalizedOptional(
+                config,
+                ConfigKeys.Radio.station(name, ConfigKeys.Radio.STATION_SHORTCODE_FIELD)
+            );
+            if (!isValidStationName(name) || shortcode == null) {
+                plugin.getLogger().warning(
+                    "Ignoring radio station '" + name + "': names may only use a-z, 0-9, _ and -, and a shortcode is required."
+                );
+                continue;
             }
-            connecting = true;
-        }
-
-        httpClient.newWebSocketBuilder()
-            .connectTimeout(CONNECT_TIMEOUT)
-            .buildAsync(URI.create(websocketUrl), new RadioWebSocketListener())
-            .whenComplete((socket, error) -> {
-                boolean connected = false;
-                synchronized (connectionLock) {
-                    connecting = false;
-                    if (error == null && enabled && webSocket == null) {
-                        webSocket = socket;
-                        connected = true;
-                    }
-                }
-                if (error != null) {
-                    if (debugLogging) {
-                        plugin.getLogger().log(Level.FINE, "Radio websocket connection failed.", error);
-                    } else {
-                        plugin.getLogger().warning("Radio websocket connection failed: " + error.getMessage());
-                    }
-                    clearLastSongText();
-                    scheduleReconnect();
-                    return;
-                }
-                if (!connected) {
-                    if (socket != null) {
-                        try {
-                            socket.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown");
-                        } catch (Exception ignored) {
-                            socket.abort();
-                        }
-                    }
-                    return;
-                }
-                sendSubscribe(socket);
-                if (debugLogging) {
-                    plugin.getLogger().info("Radio websocket connected.");
-                }
-            });
-    }
-
-    private void closeSocket() {
-        WebSocket socket = webSocket;
-        webSocket = null;
-        if (socket != null) {
-            try {
-                socket.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown");
-            } catch (Exception ignored) {
-                socket.abort();
+            if (!names.add(name) || !shortcodes.add(shortcode)) {
+                plugin.getLogger().warning("Ignoring radio station '" + name + "': its name or shortcode is already used.");
+                continue;
+            }
+            stationSettings.add(new StationSettings(
+                name,
+                shortcode,
+                ConfigUtils.getNormalizedString(
+                    config,
+                    ConfigKeys.Radio.station(name, ConfigKeys.Radio.STATION_URL_FIELD),
+                    ""
+                ),
+                ConfigUtils.getNormalizedString(
+                    config,
+                    ConfigKeys.Radio.station(name, ConfigKeys.Radio.STATION_MESSAGE_FORMAT_FIELD),
+                    messageFormat
+                ),
+                config.getBoolean(
+                    ConfigKeys.Radio.station(name, ConfigKeys.Radio.STATION_ANNOUNCEMENT_ENABLED_FIELD),
+                    DEFAULT_ANNOUNCEMENT_ENABLED
+                )
+            ));
+        }
+    }
+
+    /**
+     * Replaces the station map. Stations that are still configured under the same name and
+     * shortcode keep their state.
+     */
+    private void configureStations(List<StationSettings> stationSettings) {
+        Map<String, RadioStation> previous = stations;
+        List<String> names = new ArrayList<>(stationSettings.size());
+        for (StationSettings settings : stationSettings) {
+            names.add(settings.name());
+        }
+        Map<String, RadioStation> configured = new LinkedHashMap<>();
+        for (StationSettings settings : stationSettings) {
+            RadioStation station = previous.get(RadioStation.channelOf(settings.shortcode()));
+            if (station == null || !station.name().equals(settings.name())) {
+                station = new RadioStation(settings.name(), settings.shortcode());
             }
+            station.configure(
+                settings.stationUrl(),
+                compileMessageTemplate(settings.messageFormat(), names),
+                settings.announcementEnabled()
+            );
+            configured.put(station.channel(), station);
         }
+        stations = Collections.unmodifiableMap(configured);
+        primaryStation = configured.values().iterator().next();
+        publishSongTexts();
     }
 
-    private void markSocketClosed() {
-        synchronized (connectionLock) {
-            webSocket = null;
+    private static boolean isValidStationName(String name) {
+        if (name.isEmpty()) {
+            return false;
         }
-    }
-
-    private boolean isActiveSocket(WebSocket socket) {
-        synchronized (connectionLock) {
-            return enabled && webSocket == socket;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+            if (!valid) {
+                return false;
+            }
         }
+        return true;
     }
 
-    private void sendSubscribe(WebSocket socket) {
-        String connectMessage = subscribeMessage;
-        if (connectMessage == null || socket == null) {
-            return;
-        }
-        if (!isActiveSocket(socket)) {
+    private void reconnect() {
+        stopSource();
+        reconnectPolicy.reset();
+        resetStations();
+        clearSongTexts();
+        if (!enabled) {
             return;
         }
-        socket.sendText(connectMessage, true);
-    }
-
-    private void scheduleReconnect() {
-        if (!enabled) {
+        NowPlayingSource created = createSource();
+        if (created == null) {
+            enabled = false;
             return;
         }
-        synchronized (connectionLock) {
-            if (reconnectTask != null) {
+        synchronized (sourceLock) {
+            if (!enabled) {
                 return;
             }
-            long delayTicks = reconnectDelaySeconds * 20L;
-            reconnectTask = SchedulerSupport.rescheduleAsyncLater(plugin, reconnectTask, () -> {
-                synchronized (connectionLock) {
-                    reconnectTask = null;
-                }
-                connect();
-            }, delayTicks);
-        }
-    }
-
-    private void cancelReconnect() {
-        synchronized (connectionLock) {
-            reconnectTask = SchedulerSupport.cancelAndClearTask(reconnectTask);
-        }
-    }
-
-    private void handleMessage(String payload) {
-        if (payload == null) {
-            return;
-        }
-        String trimmed = payload.trim();
-        if (trimmed.isEmpty() || "{}".equals(trimmed)) {
-            return;
-        }
-        boolean record = metrics.isEnabled();
-        long startNanos = record ? System.nanoTime() : 0L;
+            source = created;
+        }
+        created.start();
+    }
+
+    /**
+     * Builds the source selected by {@code radio.source}, or returns {@code null} after
+     * logging why it cannot run.
+     */
+    private NowPlayingSource createSource() {
+        NowPlayingSource.Context context = new NowPlayingSource.Context(
+            plugin.getLogger(),
+            NowPlayingSource.Scheduler.bukkit(plugin),
+            httpClient,
+            metrics,
+            reconnectPolicy,
+            pipeline,
+            songFields,
+            debugLogging
+        );
         try {
-            JsonElement element;
-            try {
-                element = JsonParser.parseString(trimmed);
-            } catch (Exception e) {
-                if (debugLogging) {
-                    plugin.getLogger().log(Level.FINE, "Failed to parse radio websocket message.", e);
+            switch (sourceType) {
+                case WebSocketNowPlayingSource.TYPE -> {
+                    if (!hasUrl(websocketUrl, "websocket") || !hasShortcode()) {
+                        return null;
+                    }
+                    return new WebSocketNowPlayingSource(
+                        context,
+                        URI.create(websocketUrl),
+                        CONNECT_TIMEOUT,
+                        heartbeatIntervalTicks,
+                        idleTimeoutMillis,
+                        maxFrameChars
+                    );
+                }
+                case SseNowPlayingSource.TYPE -> {
+                    if (!hasUrl(sseUrl, "SSE") || !hasShortcode()) {
+                        return null;
+                    }
+                    return new SseNowPlayingSource(
+                        context,
+                        URI.create(sseUrl),
+                        heartbeatIntervalTicks,
+                        idleTimeoutMillis,
+                        maxFrameChars
+                    );
+                }
+                case PollingNowPlayingSource.TYPE -> {
+                    if (!hasUrl(pollUrl, "poll")) {
+                        return null;
+                    }
+                    return new PollingNowPlayingSource(context, pollUrl, pollIntervalTicks, CONNECT_TIMEOUT);
+                }
+                default -> {
+                    plugin.getLogger().warning(
+                        "Unknown radio source '" + sourceType + "'; expected websocket, sse or poll. Disabling radio updates."
+                    );
+                    return null;
                 }
-                clearLastSongText();
-                return;
-            }
-            if (!element.isJsonObject()) {
-                clearLastSongText();
-                return;
-            }
-            JsonObject root = element.getAsJsonObject();
-            if (handleConnectPayload(root)) {
-                return;
-            }
-            if (handlePubPayload(root)) {
-                return;
-            }
-            handleNowPlayingPayload(root);
-        } finally {
-            if (record) {
-                metrics.recordRadioHandleMessage(System.nanoTime() - startNanos);
             }
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Radio " + sourceType + " URL is invalid (" + e.getMessage() + "); disabling radio updates.");
+            return null;
         }
     }
 
-    private boolean handleConnectPayload(JsonObject root) {
-        JsonObject connect = getObject(root, "connect");
-        if (connect == null) {
+    private boolean hasUrl(String url, String label) {
+        if (url == null || url.isBlank()) {
+            plugin.getLogger().warning("Radio " + label + " URL is not configured; disabling radio updates.");
             return false;
         }
-        JsonArray data = getArray(connect, "data");
-        if (data != null) {
-            handleConnectDataArray(data);
-            return true;
-        }
-        JsonObject subs = getObject(connect, "subs");
-        if (subs == null) {
-            return true;
-        }
-        for (Map.Entry<String, JsonElement> entry : subs.entrySet()) {
-            JsonObject sub = asObject(entry.getValue());
-            if (sub == null) {
-                continue;
-            }
-            JsonArray publications = getArray(sub, "publications");
-            if (publications != null) {
-                handleConnectDataArray(publications);
-            }
-        }
         return true;
     }
 
-    private void handleConnectDataArray(JsonArray data) {
-        for (JsonElement element : data) {
-            JsonObject payload = asObject(element);
-            if (payload != null) {
-                handleSsePayload(payload);
-            }
+    private boolean hasShortcode() {
+        if (primaryStation.shortcode().isBlank()) {
+            plugin.getLogger().warning("Radio station shortcode is not configured; disabling radio updates.");
+            return false;
         }
+        return true;
     }
 
-    private boolean handlePubPayload(JsonObject root) {
-        JsonObject pub = getObject(root, "pub");
-        if (pub == null) {
-            return false;
+    private void stopSource() {
+        NowPlayingSource current;
+        synchronized (sourceLock) {
+            current = source;
+            source = null;
+        }
+        if (current != null) {
+            current.stop();
         }
-        handleNowPlayingPayload(pub);
-        return true;
     }
 
-    private void handleSsePayload(JsonObject payload) {
-        handleNowPlayingPayload(payload);
+    private void resetStations() {
+        for (RadioStation station : stations.values()) {
+            station.reset();
+        }
     }
 
-    private void handleNowPlayingPayload(JsonObject payload) {
-        JsonObject nowPlaying = extractNowPlayingPayload(payload);
-        SongInfo info = parseSongInfo(nowPlaying);
+    /**
+     * Applies a song read by the source: updates the cached song texts and, when the play
+     * differs from the previous one, renders and queues the announcement.
+     */
+    private void applySong(RadioStation station, SongInfo info) {
         if (info == null || info.text().isBlank()) {
-            clearLastSongText();
+            if (station.clearSongText()) {
+                publishSongTexts();
+            }
             return;
         }
-        lastSongText = info.text();
-        String key = info.key();
-        String previous = lastSongKey.getAndSet(key);
-        if (Objects.equals(previous, key)) {
+        station.forgetSuspendedSongText();
+        if (station.updateSongText(info.text())) {
+            publishSongTexts();
+        }
+        station.setLastProcessedShId(info.shId());
+        if (!station.changeSongKey(info.key())) {
             return;
         }
-        if (!announcementEnabled) {
+        if (!station.announcementEnabled()) {
             return;
         }
 
+        CompiledTemplate template = station.messageTemplate();
+        String stationUrl = station.stationUrl();
         Object urlValue = MessageTemplate.legacyAwareValue(
-            messageFormat,
+            template.template(),
             stationUrl,
             () -> {
                 if (stationUrl == null || stationUrl.isBlank()) {
@@ -397,132 +480,200 @@ public final class RadioNowPlayingService {
                 return Component.text(label).clickEvent(ClickEvent.openUrl(stationUrl));
             }
         );
-        Component message = MessageTemplate.render(
-            messageFormat,
-            "song", info.text(),
-            "artist", info.artist(),
-            "title", info.title(),
-            "url", urlValue
-        );
-        Bukkit.getScheduler().runTask(plugin, () -> audiences.all().sendMessage(message));
+        List<String> keys = template.keys();
+        Object[] values = new Object[keys.size()];
+        values[0] = info.text();
+        values[1] = info.artist();
+        values[2] = info.title();
+        values[3] = urlValue;
+        values[4] = station.name();
+        Map<String, String> texts = songTexts;
+        for (int i = STATION_SONG_SLOT_OFFSET; i < values.length; i++) {
+            values[i] = texts.getOrDefault(keys.get(i).substring(SONG_KEY_PREFIX.length()), "");
+        }
+        Component message = plugin.renderCache().render(template, values);
+        queueAnnouncement(station, message);
+    }
+
+    /**
+     * Broadcasts an announcement at the end of the coalescing window. Changes inside the window
+     * replace the pending announcement, so a burst of skips is announced once, with the last
+     * song.
+     */
+    private void queueAnnouncement(RadioStation station, Component message) {
+        long delayTicks = announcementCoalesceTicks;
+        if (delayTicks <= 0L) {
+            Bukkit.getScheduler().runTask(plugin, () -> audiences.all().sendMessage(message));
+            metrics.recordRadioAnnouncement(true);
+            return;
+        }
+        if (station.replacePendingAnnouncement(message)) {
+            metrics.recordRadioAnnouncement(false);
+            return;
+        }
+        Bukkit.getScheduler().runTaskLater(plugin, () -> flushAnnouncement(station), delayTicks);
     }
 
-    public void setAnnouncementEnabled(boolean enabled) {
-        this.announcementEnabled = enabled;
+    private void flushAnnouncement(RadioStation station) {
+        Component message = station.takePendingAnnouncement();
+        if (message == null || !enabled || !station.announcementEnabled()) {
+            return;
+        }
+        audiences.all().sendMessage(message);
+        metrics.recordRadioAnnouncement(true);
     }
 
-    public java.util.Optional<String> getLastSongText() {
-        return java.util.Optional.ofNullable(lastSongText);
+    /**
+     * Compiles an announcement format. Besides the announced song's own placeholders, every
+     * station's current song is available as {@code {song:<name>}}.
+     */
+    private static CompiledTemplate compileMessageTemplate(String format, List<String> stationNames) {
+        String[] keys = new String[STATION_SONG_SLOT_OFFSET + stationNames.size()];
+        keys[0] = "song";
+        keys[1] = "artist";
+        keys[2] = "title";
+        keys[3] = "url";
+        keys[4] = "station";
+        for (int i = 0; i < stationNames.size(); i++) {
+            keys[STATION_SONG_SLOT_OFFSET + i] = SONG_KEY_PREFIX + stationNames.get(i);
+        }
+        return MessageTemplate.compile(format, keys);
     }
 
-    private void clearLastSongText() {
-        lastSongText = null;
+    public void setAnnouncementEnabled(boolean enabled) {
+        primaryStation.setAnnouncementEnabled(enabled);
     }
 
-    private SongInfo parseSongInfo(JsonObject nowPlaying) {
-        try {
-            if (nowPlaying == null) {
-                return null;
-            }
-            JsonObject song = getObject(nowPlaying, "song");
-            if (song == null) {
-                return null;
-            }
-
-            String text = getString(song, "text");
-            String artist = getString(song, "artist");
-            String title = getString(song, "title");
-            if (text == null || text.isBlank()) {
-                if (artist != null && title != null) {
-                    text = artist + " - " + title;
-                } else if (title != null) {
-                    text = title;
-                } else if (artist != null) {
-                    text = artist;
-                }
-            }
-            if (text == null) {
-                text = "";
-            }
+    /**
+     * Toggles announcements for one station and returns {@code false} when no station has
+     * that name.
+     */
+    public boolean setAnnouncementEnabled(String stationName, boolean enabled) {
+        RadioStation station = stationByName(stationName);
+        if (station == null) {
+            return false;
+        }
+        station.setAnnouncementEnabled(enabled);
+        return true;
+    }
 
-            String key = firstNonEmpty(
-                getString(nowPlaying, "sh_id"),
-                getString(nowPlaying, "played_at"),
-                getString(song, "id"),
-                text
-            );
+    public String getPrimaryStationName() {
+        return PRIMARY_STATION;
+    }
 
-            return new SongInfo(key, text, nullToEmpty(artist), nullToEmpty(title));
-        } catch (Exception e) {
-            if (debugLogging) {
-                plugin.getLogger().log(Level.FINE, "Failed to parse radio now playing payload.", e);
-            }
-            return null;
+    public List<String> getStationNames() {
+        List<String> names = new ArrayList<>();
+        for (RadioStation station : stations.values()) {
+            names.add(station.name());
         }
+        return names;
     }
 
-    private JsonObject extractNowPlayingPayload(JsonObject root) {
-        if (root == null) {
+    private RadioStation stationByName(String name) {
+        if (name == null) {
             return null;
         }
-        JsonObject candidate = root;
-        JsonObject data = getObject(candidate, "data");
-        if (data != null) {
-            candidate = data;
-        }
-        JsonObject np = getObject(candidate, "np");
-        if (np != null) {
-            candidate = np;
+        for (RadioStation station : stations.values()) {
+            if (station.name().equalsIgnoreCase(name)) {
+                return station;
+            }
         }
-        JsonObject nowPlaying = getObject(candidate, "now_playing");
-        if (nowPlaying != null) {
-            return nowPlaying;
+        return null;
+    }
+
+    /**
+     * Returns the source's connection and reconnect circuit state.
+     */
+    public ConnectionStatus getConnectionStatus() {
+        NowPlayingSource current = source;
+        NowPlayingSource.Status status;
+        if (current != null) {
+            status = current.status();
+        } else {
+            ReconnectPolicy.Snapshot snapshot = reconnectPolicy.snapshot();
+            status = new NowPlayingSource.Status(
+                false,
+                snapshot.state().displayName(),
+                snapshot.consecutiveFailures(),
+                snapshot.millisUntilNextAttempt(),
+                -1L
+            );
         }
-        JsonObject currentSong = getObject(candidate, "current_song");
-        return currentSong != null ? currentSong : candidate;
+        return new ConnectionStatus(
+            enabled,
+            sourceType,
+            status.connected(),
+            status.circuitState(),
+            status.consecutiveFailures(),
+            status.millisUntilNextAttempt(),
+            status.lastMessageAgeMillis()
+        );
     }
 
-    private static JsonObject asObject(JsonElement element) {
-        if (element == null || !element.isJsonObject()) {
-            return null;
-        }
-        return element.getAsJsonObject();
+    public java.util.Optional<String> getLastSongText() {
+        return java.util.Optional.ofNullable(primaryStation.songText());
     }
 
-    private static JsonObject getObject(JsonObject parent, String key) {
-        if (parent == null || !parent.has(key)) {
-            return null;
+    public java.util.Optional<String> getLastSongText(String stationName) {
+        RadioStation station = stationByName(stationName);
+        return java.util.Optional.ofNullable(station == null ? null : station.songText());
+    }
+
+    /**
+     * Returns the current song of every station by name, with an empty string for stations
+     * that have none. The map is rebuilt only when a song changes, so it is cheap to poll.
+     */
+    public Map<String, String> getStationSongTexts() {
+        return songTexts;
+    }
+
+    /**
+     * Registers a callback run whenever the current song text of any station changes.
+     * Callbacks may run on the websocket thread and must be cheap.
+     */
+    public void addSongChangeListener(Runnable listener) {
+        songChangeListeners.add(Objects.requireNonNull(listener, "listener must not be null"));
+    }
+
+    private void suspendSongTexts() {
+        boolean changed = false;
+        for (RadioStation station : stations.values()) {
+            changed |= station.suspendSongText();
         }
-        JsonElement element = parent.get(key);
-        if (element == null || !element.isJsonObject()) {
-            return null;
+        if (changed) {
+            publishSongTexts();
         }
-        return element.getAsJsonObject();
     }
 
-    private static JsonArray getArray(JsonObject parent, String key) {
-        if (parent == null || !parent.has(key)) {
-            return null;
+    private void clearSongTexts() {
+        boolean changed = false;
+        for (RadioStation station : stations.values()) {
+            changed |= station.clearSongText();
         }
-        JsonElement element = parent.get(key);
-        if (element == null || !element.isJsonArray()) {
-            return null;
+        if (changed) {
+            publishSongTexts();
         }
-        return element.getAsJsonArray();
     }
 
-    private static String getString(JsonObject parent, String key) {
-        if (parent == null || !parent.has(key)) {
-            return null;
-        }
-        JsonElement element = parent.get(key);
-        if (element == null || element.isJsonNull()) {
-            return null;
+    /**
+     * Snapshots every station's song text. Sources on different threads publish concurrently,
+     * so the snapshot is built and swapped under one lock; otherwise an older snapshot could
+     * overwrite a newer one. Listeners run outside the lock.
+     */
+    private void publishSongTexts() {
+        synchronized (songTextLock) {
+            Map<String, String> texts = new LinkedHashMap<>();
+            for (RadioStation station : stations.values()) {
+                texts.put(station.name(), nullToEmpty(station.songText()));
+            }
+            Map<String, String> published = Collections.unmodifiableMap(texts);
+            if (published.equals(songTexts)) {
+                return;
+            }
+            songTexts = published;
         }
-        try {
-            return element.getAsString();
-        } catch (UnsupportedOperationException ignored) {
-            return element.toString();
+        for (Runnable listener : songChangeListeners) {
+            listener.run();
         }
     }
 
@@ -587,79 +738,85 @@ public final class RadioNowPlayingService {
         return base.substring(0, prefixIndex) + WEBSOCKET_PATH + querySuffix;
     }
 
-    private static String buildSubscribeMessage(String stationShortcode) {
-        if (stationShortcode == null || stationShortcode.isBlank()) {
+    /**
+     * Derives the AzuraCast SSE endpoint from the websocket one, which differ only in scheme
+     * and last path segment.
+     */
+    private static String deriveSseUrl(String websocketUrl) {
+        String normalized = ConfigUtils.normalizeOptional(websocketUrl);
+        if (normalized == null) {
             return null;
         }
-        JsonObject root = new JsonObject();
-        JsonObject subs = new JsonObject();
-        JsonObject station = new JsonObject();
-        station.addProperty("recover", true);
-        subs.add("station:" + stationShortcode, station);
-        root.add("subs", subs);
-        return root.toString();
-    }
-
-    private static String firstNonEmpty(String... values) {
-        for (String value : values) {
-            if (value != null && !value.isBlank()) {
-                return value;
-            }
+        int queryIndex = normalized.indexOf('?');
+        String base = queryIndex >= 0 ? normalized.substring(0, queryIndex) : normalized;
+        String querySuffix = queryIndex >= 0 ? normalized.substring(queryIndex) : "";
+        if (!base.endsWith(WEBSOCKET_SUFFIX)) {
+            return null;
+        }
+        base = base.substring(0, base.length() - WEBSOCKET_SUFFIX.length()) + SSE_SUFFIX;
+        if (base.startsWith("wss://")) {
+            base = "https://" + base.substring("wss://".length());
+        } else if (base.startsWith("ws://")) {
+            base = "http://" + base.substring("ws://".length());
         }
-        return "";
+        return base + querySuffix;
     }
 
+    public record ConnectionStatus(
+        boolean enabled,
+        String source,
+        boolean connected,
+        String circuitState,
+        int consecutiveFailures,
+        long millisUntilNextAttempt,
+        long lastMessageAgeMillis
+    ) {
+    }
 
-    private record SongInfo(String key, String text, String artist, String title) {
+    private record StationSettings(
+        String name,
+        String shortcode,
+        String stationUrl,
+        String messageFormat,
+        boolean announcementEnabled
+    ) {
     }
 
-    private final class RadioWebSocketListener implements WebSocket.Listener {
-        private final Object bufferLock = new Object();
-        private final StringBuilder buffer = new StringBuilder(512);
+    /**
+     * The downstream half shared by every source: song texts, deduplication and
+     * announcements.
+     */
+    private final class Pipeline implements NowPlayingSource.Sink {
+        @Override
+        public Map<String, RadioStation> stations() {
+            return stations;
+        }
 
         @Override
-        public void onOpen(WebSocket webSocket) {
-            webSocket.request(1);
+        public RadioStation primaryStation() {
+            return primaryStation;
         }
 
         @Override
-        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
-            String message = null;
-            synchronized (bufferLock) {
-                buffer.append(data);
-                if (last) {
-                    message = buffer.toString();
-                    buffer.setLength(0);
-                }
-            }
-            if (message != null) {
-                handleMessage(message);
-            }
-            webSocket.request(1);
-            return CompletableFuture.completedFuture(null);
+        public void songChanged(RadioStation station, SongInfo song) {
+            applySong(station, song);
         }
 
         @Override
-        public void onError(WebSocket webSocket, Throwable error) {
-            if (debugLogging) {
-                plugin.getLogger().log(Level.FINE, "Radio websocket error.", error);
-            } else {
-                plugin.getLogger().warning("Radio websocket error: " + error.getMessage());
+        public void songRestored(RadioStation station) {
+            if (station.restoreSuspendedSongText()) {
+                publishSongTexts();
             }
-            clearLastSongText();
-            markSocketClosed();
-            scheduleReconnect();
         }
 
         @Override
-        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
-            if (debugLogging) {
-                plugin.getLogger().info("Radio websocket closed: " + statusCode + " (" + reason + ")");
-            }
-            clearLastSongText();
-            markSocketClosed();
-            scheduleReconnect();
-            return CompletableFuture.completedFuture(null);
+        public void connectionLost() {
+            suspendSongTexts();
+        }
+
+        @Override
+        public void songsCleared() {
+            clearSongTexts();
         }
     }
 }
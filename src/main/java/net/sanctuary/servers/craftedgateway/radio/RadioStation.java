@@ -0,0 +1,182 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import net.kyori.adventure.text.Component;
+import net.sanctuary.servers.craftedgateway.text.CompiledTemplate;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One AzuraCast station subscribed over the shared radio connection, with its settings and
+ * now-playing state.
+ *
+ * <p>State is written by the websocket thread and read by the tablist, commands and
+ * metrics, so every field is volatile or atomic. Settings are replaced in place on reload so
+ * a station that is still configured keeps its state.</p>
+ */
+final class RadioStation {
+    private final String name;
+    private final String shortcode;
+    private final String channel;
+    private final AtomicReference<String> lastSongKey = new AtomicReference<>();
+    private final AtomicReference<Component> pendingAnnouncement = new AtomicReference<>();
+
+    private volatile String stationUrl;
+    private volatile CompiledTemplate messageTemplate;
+    private volatile boolean announcementEnabled;
+    private volatile String songText;
+    private volatile String lastProcessedShId;
+    private volatile String suspendedSongText;
+    private volatile StreamPosition streamPosition;
+
+    RadioStation(String name, String shortcode) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.shortcode = Objects.requireNonNull(shortcode, "shortcode must not be null");
+        this.channel = channelOf(shortcode);
+    }
+
+    static String channelOf(String shortcode) {
+        return "station:" + shortcode;
+    }
+
+    void configure(String stationUrl, CompiledTemplate messageTemplate, boolean announcementEnabled) {
+        this.stationUrl = stationUrl;
+        this.messageTemplate = messageTemplate;
+        this.announcementEnabled = announcementEnabled;
+    }
+
+    String name() {
+        return name;
+    }
+
+    String shortcode() {
+        return shortcode;
+    }
+
+    String channel() {
+        return channel;
+    }
+
+    String stationUrl() {
+        return stationUrl;
+    }
+
+    CompiledTemplate messageTemplate() {
+        return messageTemplate;
+    }
+
+    boolean announcementEnabled() {
+        return announcementEnabled;
+    }
+
+    void setAnnouncementEnabled(boolean enabled) {
+        announcementEnabled = enabled;
+    }
+
+    String songText() {
+        return songText;
+    }
+
+    /**
+     * Sets the song text and returns {@code true} when it changed.
+     */
+    boolean updateSongText(String text) {
+        String previous = songText;
+        songText = text;
+        return !Objects.equals(previous, text);
+    }
+
+    /**
+     * Clears the song text and returns {@code true} when it changed.
+     */
+    boolean clearSongText() {
+        lastProcessedShId = null;
+        return updateSongText(null);
+    }
+
+    /**
+     * Clears the song text while the connection is down, remembering it so that a reconnect
+     * which recovers the stream without missed publications can put it back.
+     */
+    boolean suspendSongText() {
+        String text = songText;
+        if (text != null) {
+            suspendedSongText = text;
+        }
+        return clearSongText();
+    }
+
+    boolean restoreSuspendedSongText() {
+        String text = suspendedSongText;
+        suspendedSongText = null;
+        return text != null && songText == null && updateSongText(text);
+    }
+
+    void forgetSuspendedSongText() {
+        suspendedSongText = null;
+    }
+
+    String lastProcessedShId() {
+        return lastProcessedShId;
+    }
+
+    void setLastProcessedShId(String shId) {
+        lastProcessedShId = shId;
+    }
+
+    /**
+     * Records the key of the current song and returns {@code true} when it differs from the
+     * previous one.
+     */
+    boolean changeSongKey(String key) {
+        return !Objects.equals(lastSongKey.getAndSet(key), key);
+    }
+
+    StreamPosition streamPosition() {
+        return streamPosition;
+    }
+
+    void updateStreamPosition(String epoch, long offset) {
+        if (epoch == null || epoch.isBlank() || offset < 0L) {
+            streamPosition = null;
+            return;
+        }
+        streamPosition = new StreamPosition(epoch, offset);
+    }
+
+    void advanceStreamPosition(long offset) {
+        StreamPosition current = streamPosition;
+        if (current != null && offset > current.offset()) {
+            streamPosition = new StreamPosition(current.epoch(), offset);
+        }
+    }
+
+    /**
+     * Replaces the pending announcement and returns {@code true} when one was already waiting.
+     */
+    boolean replacePendingAnnouncement(Component message) {
+        return pendingAnnouncement.getAndSet(message) != null;
+    }
+
+    Component takePendingAnnouncement() {
+        return pendingAnnouncement.getAndSet(null);
+    }
+
+    /**
+     * Forgets the song, stream position and pending announcement, so the next connection
+     * starts from the full state.
+     */
+    void reset() {
+        lastSongKey.set(null);
+        pendingAnnouncement.set(null);
+        streamPosition = null;
+        suspendedSongText = null;
+    }
+
+    /**
+     * The Centrifugo stream position of the station channel, sent on resubscribe so the server
+     * only delivers publications missed since then.
+     */
+    record StreamPosition(String epoch, long offset) {
+    }
+}
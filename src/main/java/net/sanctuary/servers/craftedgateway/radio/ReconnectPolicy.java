@@ -0,0 +1,141 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when to retry the radio websocket after a failed or dropped connection.
+ *
+ * <p>Delays grow exponentially from the base delay up to a cap, with full jitter so that
+ * many servers reconnecting to the same radio host spread out. After
+ * {@code failureThreshold} consecutive failures the circuit opens and attempts pause for
+ * the open period; the next attempt is a half-open probe that either closes the circuit
+ * and clears the failure count on success or re-opens it on failure. A connection that
+ * stays up for the stable period resets the failure count.</p>
+ *
+ * <p>The clock and random source are injectable so the policy can be exercised against a
+ * local websocket stand-in that refuses connections.</p>
+ */
+final class ReconnectPolicy {
+    private static final long MIN_DELAY_MILLIS = 1_000L;
+    private static final int MAX_SHIFT = 20;
+
+    private final LongSupplier clock;
+    private final DoubleSupplier random;
+
+    private long baseDelayMillis = 10_000L;
+    private long maxDelayMillis = 300_000L;
+    private long stableMillis = 60_000L;
+    private int failureThreshold = 5;
+    private long openMillis = 300_000L;
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long nextAttemptAtMillis;
+    private long connectedAtMillis = -1L;
+
+    ReconnectPolicy() {
+        this(System::currentTimeMillis, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    ReconnectPolicy(LongSupplier clock, DoubleSupplier random) {
+        this.clock = clock;
+        this.random = random;
+    }
+
+    synchronized void configure(
+        long baseDelayMillis,
+        long maxDelayMillis,
+        long stableMillis,
+        int failureThreshold,
+        long openMillis
+    ) {
+        this.baseDelayMillis = Math.max(MIN_DELAY_MILLIS, baseDelayMillis);
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelayMillis);
+        this.stableMillis = Math.max(0L, stableMillis);
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = Math.max(MIN_DELAY_MILLIS, openMillis);
+    }
+
+    synchronized void reset() {
+        state = CircuitState.CLOSED;
+        consecutiveFailures = 0;
+        nextAttemptAtMillis = 0L;
+        connectedAtMillis = -1L;
+    }
+
+    synchronized void recordConnected() {
+        connectedAtMillis = clock.getAsLong();
+        if (state == CircuitState.HALF_OPEN) {
+            state = CircuitState.CLOSED;
+            consecutiveFailures = 0;
+        }
+    }
+
+    /**
+     * Marks the start of a scheduled attempt. An attempt made while the circuit is open is
+     * the half-open probe.
+     */
+    synchronized void recordAttempt() {
+        nextAttemptAtMillis = 0L;
+        if (state == CircuitState.OPEN) {
+            state = CircuitState.HALF_OPEN;
+        }
+    }
+
+    /**
+     * Records a failed attempt or a dropped connection and returns how long to wait before
+     * the next attempt.
+     */
+    synchronized Backoff recordFailure() {
+        long now = clock.getAsLong();
+        resetIfStable(now);
+        connectedAtMillis = -1L;
+        consecutiveFailures++;
+        boolean opened = false;
+        long delay;
+        if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            opened = state != CircuitState.OPEN;
+            state = CircuitState.OPEN;
+            delay = openMillis / 2 + (long) (random.getAsDouble() * (openMillis / 2));
+        } else {
+            int shift = Math.min(consecutiveFailures - 1, MAX_SHIFT);
+            long ceiling = Math.min(maxDelayMillis, baseDelayMillis << shift);
+            delay = (long) (random.getAsDouble() * ceiling);
+        }
+        delay = Math.max(MIN_DELAY_MILLIS, delay);
+        nextAttemptAtMillis = now + delay;
+        return new Backoff(delay, opened, consecutiveFailures);
+    }
+
+    synchronized Snapshot snapshot() {
+        long now = clock.getAsLong();
+        resetIfStable(now);
+        long untilNext = nextAttemptAtMillis == 0L ? 0L : Math.max(0L, nextAttemptAtMillis - now);
+        return new Snapshot(state, consecutiveFailures, untilNext);
+    }
+
+    private void resetIfStable(long now) {
+        if (connectedAtMillis >= 0L && now - connectedAtMillis >= stableMillis) {
+            consecutiveFailures = 0;
+            state = CircuitState.CLOSED;
+        }
+    }
+
+    enum CircuitState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN;
+
+        String displayName() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    record Backoff(long delayMillis, boolean circuitOpened, int consecutiveFailures) {
+    }
+
+    record Snapshot(CircuitState state, int consecutiveFailures, long millisUntilNextAttempt) {
+    }
+}
@@ -0,0 +1,224 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+/**
+ * Finds the song history id of a frame's {@code now_playing} object without parsing JSON.
+ *
+ * <p>AzuraCast re-publishes the whole now-playing state whenever the listener count changes,
+ * so most frames repeat the current song. A frame that carries exactly one
+ * {@code now_playing} object can be recognised by its {@code sh_id} alone. Only frames that
+ * hold one complete JSON object are matched: frames that batch several replies still need
+ * the other replies handled, and truncated frames need the full parser to reject them.</p>
+ */
+final class ShIdScanner {
+    private static final String NOW_PLAYING_KEY = "\"now_playing\"";
+    private static final String PUB_KEY = "\"pub\"";
+    private static final String SH_ID_KEY = "sh_id";
+    private static final String OFFSET_KEY = "offset";
+
+    private ShIdScanner() {
+    }
+
+    /**
+     * Returns the raw {@code sh_id} value of the only {@code now_playing} object in the frame,
+     * or {@code null} when there is none, more than one, the frame is not one complete object,
+     * or the value is not a plain string or number.
+     */
+    static String find(CharSequence frame) {
+        int keyIndex = indexOf(frame, NOW_PLAYING_KEY, 0);
+        if (keyIndex < 0 || indexOf(frame, NOW_PLAYING_KEY, keyIndex + 1) >= 0 || !isSingleObject(frame)) {
+            return null;
+        }
+        int index = skipWhitespace(frame, keyIndex + NOW_PLAYING_KEY.length());
+        if (index >= frame.length() || frame.charAt(index) != ':') {
+            return null;
+        }
+        index = skipWhitespace(frame, index + 1);
+        if (index >= frame.length() || frame.charAt(index) != '{') {
+            return null;
+        }
+        return findTopLevelValue(frame, index + 1, SH_ID_KEY);
+    }
+
+    /**
+     * Returns the Centrifugo stream offset of a {@code pub} frame, or {@code -1} when the frame
+     * is not a publication or carries no offset. Used to keep the recovery position current
+     * for frames that are skipped as duplicates.
+     */
+    static long findPubOffset(CharSequence frame) {
+        int keyIndex = indexOf(frame, PUB_KEY, 0);
+        if (keyIndex < 0) {
+            return -1L;
+        }
+        int index = skipWhitespace(frame, keyIndex + PUB_KEY.length());
+        if (index >= frame.length() || frame.charAt(index) != ':') {
+            return -1L;
+        }
+        index = skipWhitespace(frame, index + 1);
+        if (index >= frame.length() || frame.charAt(index) != '{') {
+            return -1L;
+        }
+        String offset = findTopLevelValue(frame, index + 1, OFFSET_KEY);
+        if (offset == null) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(offset);
+        } catch (NumberFormatException ignored) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Walks the object starting after its opening brace and returns the value of {@code key}
+     * found directly in it, ignoring nested objects, arrays and string contents.
+     */
+    private static String findTopLevelValue(CharSequence frame, int start, String key) {
+        int depth = 1;
+        boolean expectKey = true;
+        int index = start;
+        int length = frame.length();
+        while (index < length) {
+            char current = frame.charAt(index);
+            if (current == '"') {
+                int end = stringEnd(frame, index + 1);
+                if (end < 0) {
+                    return null;
+                }
+                if (depth == 1 && expectKey && end == index + 1 + key.length()
+                    && regionMatches(frame, index + 1, key)) {
+                    return readValue(frame, end + 1);
+                }
+                index = end + 1;
+                continue;
+            }
+            if (current == '{' || current == '[') {
+                depth++;
+            } else if (current == '}' || current == ']') {
+                depth--;
+                if (depth == 0) {
+                    return null;
+                }
+            } else if (current == ',') {
+                expectKey = depth == 1;
+            } else if (current == ':' && depth == 1) {
+                expectKey = false;
+            }
+            index++;
+        }
+        return null;
+    }
+
+    private static String readValue(CharSequence frame, int afterKey) {
+        int index = skipWhitespace(frame, afterKey);
+        if (index >= frame.length() || frame.charAt(index) != ':') {
+            return null;
+        }
+        index = skipWhitespace(frame, index + 1);
+        if (index >= frame.length()) {
+            return null;
+        }
+        if (frame.charAt(index) == '"') {
+            int end = stringEnd(frame, index + 1);
+            if (end < 0 || containsEscape(frame, index + 1, end)) {
+                return null;
+            }
+            return frame.subSequence(index + 1, end).toString();
+        }
+        int end = index;
+        while (end < frame.length() && isNumberChar(frame.charAt(end))) {
+            end++;
+        }
+        return end == index ? null : frame.subSequence(index, end).toString();
+    }
+
+    /**
+     * Returns the index of the closing quote of a string whose content starts at {@code start}.
+     */
+    private static int stringEnd(CharSequence frame, int start) {
+        int index = start;
+        while (index < frame.length()) {
+            char current = frame.charAt(index);
+            if (current == '\\') {
+                index += 2;
+                continue;
+            }
+            if (current == '"') {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    private static boolean containsEscape(CharSequence frame, int start, int end) {
+        for (int index = start; index < end; index++) {
+            if (frame.charAt(index) == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} when the frame is exactly one JSON object: the first top-level
+     * object closes and only whitespace follows it. Whitespace, line breaks included, is legal
+     * between tokens, so a batch is only recognised by a second value after the first.
+     */
+    private static boolean isSingleObject(CharSequence frame) {
+        int start = skipWhitespace(frame, 0);
+        if (start >= frame.length() || frame.charAt(start) != '{') {
+            return false;
+        }
+        int depth = 0;
+        for (int index = start; index < frame.length(); index++) {
+            char current = frame.charAt(index);
+            if (current == '"') {
+                index = stringEnd(frame, index + 1);
+                if (index < 0) {
+                    return false;
+                }
+            } else if (current == '{' || current == '[') {
+                depth++;
+            } else if (current == '}' || current == ']') {
+                depth--;
+                if (depth == 0) {
+                    return skipWhitespace(frame, index + 1) == frame.length();
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int skipWhitespace(CharSequence frame, int index) {
+        while (index < frame.length() && Character.isWhitespace(frame.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int indexOf(CharSequence frame, String value, int from) {
+        int last = frame.length() - value.length();
+        for (int index = from; index <= last; index++) {
+            if (regionMatches(frame, index, value)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(CharSequence frame, int offset, String value) {
+        if (offset + value.length() > frame.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (frame.charAt(offset + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNumberChar(char value) {
+        return (value >= '0' && value <= '9') || value == '-' || value == '.' || value == 'e' || value == 'E' || value == '+';
+    }
+}
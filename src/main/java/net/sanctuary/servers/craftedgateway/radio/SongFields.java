@@ -0,0 +1,166 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.sanctuary.servers.craftedgateway.config.ConfigUtils;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Where a now-playing source finds the song fields in its JSON.
+ *
+ * <p>Each path is a dot-separated list of object keys, such as {@code song.text}. A numeric
+ * segment indexes into an array, and any other segment applied to an array reads its first
+ * element, which covers Icecast returning one source as an object and several as an array.
+ * The id may list several comma-separated paths; the first non-empty one identifies the
+ * play, falling back to the song text.</p>
+ */
+record SongFields(String song, String artist, String title, String id) {
+    static final String SONG = "song";
+    static final String ARTIST = "artist";
+    static final String TITLE = "title";
+    static final String ID = "id";
+
+    /**
+     * Fields of an AzuraCast now-playing object.
+     */
+    static SongFields azuraCast() {
+        return new SongFields("song.text", "song.artist", "song.title", "sh_id,played_at,song.id");
+    }
+
+    /**
+     * Fields of an Icecast {@code status-json.xsl} response.
+     */
+    static SongFields icecast() {
+        return new SongFields("icestats.source.title", "icestats.source.artist", "icestats.source.title", "");
+    }
+
+    /**
+     * Reads the fields under {@code path}, keeping the defaults for any that are not set.
+     */
+    static SongFields fromConfig(FileConfiguration config, String path, SongFields defaults) {
+        return new SongFields(
+            ConfigUtils.getNormalizedString(config, path + "." + SONG, defaults.song()),
+            ConfigUtils.getNormalizedString(config, path + "." + ARTIST, defaults.artist()),
+            ConfigUtils.getNormalizedString(config, path + "." + TITLE, defaults.title()),
+            ConfigUtils.normalizeString(config.getString(path + "." + ID, defaults.id()), "")
+        );
+    }
+
+    /**
+     * Returns every configured path, including each id alternative.
+     */
+    List<String> paths() {
+        List<String> paths = new ArrayList<>();
+        addPath(paths, song);
+        addPath(paths, artist);
+        addPath(paths, title);
+        for (String alternative : id.split(",")) {
+            addPath(paths, alternative);
+        }
+        return paths;
+    }
+
+    /**
+     * Reads a song from {@code root}, or returns {@code null} when none of the song fields
+     * are present. The text falls back to {@code artist - title} when the song path is empty.
+     */
+    SongInfo read(JsonElement root) {
+        if (root == null) {
+            return null;
+        }
+        String text = resolve(root, song);
+        String artistValue = resolve(root, artist);
+        String titleValue = resolve(root, title);
+        if (text == null && artistValue == null && titleValue == null) {
+            return null;
+        }
+        if (text == null || text.isBlank()) {
+            if (artistValue != null && titleValue != null) {
+                text = artistValue + " - " + titleValue;
+            } else if (titleValue != null) {
+                text = titleValue;
+            } else if (artistValue != null) {
+                text = artistValue;
+            }
+        }
+        if (text == null) {
+            text = "";
+        }
+        String key = null;
+        String shId = null;
+        for (String alternative : id.split(",")) {
+            String value = resolve(root, alternative.trim());
+            if (value != null && !value.isBlank()) {
+                key = value;
+                shId = "sh_id".equals(alternative.trim()) ? value : null;
+                break;
+            }
+        }
+        return new SongInfo(key == null ? text : key, shId, text, nullToEmpty(artistValue), nullToEmpty(titleValue));
+    }
+
+    private static String resolve(JsonElement root, String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        JsonElement current = root;
+        for (String segment : path.split("\\.")) {
+            current = child(current, segment);
+            if (current == null) {
+                return null;
+            }
+        }
+        if (current.isJsonNull() || current.isJsonObject() || current.isJsonArray()) {
+            return null;
+        }
+        return current.getAsString();
+    }
+
+    private static JsonElement child(JsonElement element, String segment) {
+        if (element instanceof JsonObject object) {
+            return object.get(segment);
+        }
+        if (element instanceof JsonArray array) {
+            if (array.isEmpty()) {
+                return null;
+            }
+            int index = parseIndex(segment);
+            if (index >= 0) {
+                return index < array.size() ? array.get(index) : null;
+            }
+            return child(array.get(0), segment);
+        }
+        return null;
+    }
+
+    private static int parseIndex(String segment) {
+        if (segment.isEmpty()) {
+            return -1;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return -1;
+            }
+        }
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException ignored) {
+            return -1;
+        }
+    }
+
+    private static void addPath(List<String> paths, String path) {
+        String trimmed = path == null ? "" : path.trim();
+        if (!trimmed.isEmpty()) {
+            paths.add(trimmed);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,9 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+/**
+ * A song read from a now-playing payload. {@code key} identifies the play, so the same
+ * song played twice in a row still counts as a change; {@code shId} is the AzuraCast song
+ * history id when the payload has one.
+ */
+record SongInfo(String key, String shId, String text, String artist, String title) {
+}
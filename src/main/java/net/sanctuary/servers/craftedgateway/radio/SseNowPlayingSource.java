@@ -0,0 +1,152 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * Receives AzuraCast now-playing updates from the Centrifugo SSE endpoint, for networks that
+ * block websockets. The subscription travels in the {@code cf_connect} query parameter and
+ * the server streams the same messages the websocket would.
+ *
+ * <p>Reading the stream blocks, so each connection is read on this source's own daemon
+ * thread rather than on the HTTP client's or the scheduler's threads.</p>
+ */
+final class SseNowPlayingSource extends StreamingNowPlayingSource<Stream<String>> {
+    static final String TYPE = "sse";
+
+    private static final String DATA_FIELD = "data:";
+
+    private final URI uri;
+    private final int maxFrameChars;
+    private final ExecutorService reader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CraftedGateway-Radio-SSE");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    SseNowPlayingSource(
+        NowPlayingSource.Context context,
+        URI uri,
+        long heartbeatIntervalTicks,
+        long idleTimeoutMillis,
+        int maxFrameChars
+    ) {
+        super(context, "Radio SSE stream", heartbeatIntervalTicks, idleTimeoutMillis);
+        this.uri = uri;
+        this.maxFrameChars = maxFrameChars;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        reader.shutdownNow();
+    }
+
+    @Override
+    protected CompletableFuture<Stream<String>> open() {
+        String connectMessage = CentrifugoFrameHandler.buildSubscribeMessage(context.sink().stations().values());
+        if (connectMessage == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("no station to subscribe to"));
+        }
+        String separator = uri.getRawQuery() == null ? "?" : "&";
+        URI connectUri = URI.create(
+            uri + separator + "cf_connect=" + URLEncoder.encode(connectMessage, StandardCharsets.UTF_8)
+        );
+        HttpRequest request = HttpRequest.newBuilder(connectUri)
+            .header("Accept", "text/event-stream")
+            .GET()
+            .build();
+        return context.httpClient().sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+            .thenApply(response -> {
+                if (response.statusCode() != 200) {
+                    response.body().close();
+                    throw new CompletionException(new IOException("HTTP " + response.statusCode()));
+                }
+                return response.body();
+            });
+    }
+
+    @Override
+    protected void onConnected(Stream<String> lines) {
+        try {
+            reader.execute(() -> read(lines));
+        } catch (RejectedExecutionException e) {
+            close(lines);
+        }
+    }
+
+    @Override
+    protected void close(Stream<String> lines) {
+        lines.close();
+    }
+
+    @Override
+    protected void abort(Stream<String> lines) {
+        lines.close();
+    }
+
+    /**
+     * Reads events until the stream ends. Each event's {@code data} lines are joined and
+     * handled as one frame; comments and the other event fields are ignored.
+     */
+    private void read(Stream<String> lines) {
+        StringBuilder data = new StringBuilder();
+        boolean dropping = false;
+        try {
+            Iterator<String> iterator = lines.iterator();
+            while (iterator.hasNext() && isActive(lines)) {
+                String line = iterator.next();
+                markInbound();
+                if (line.isEmpty()) {
+                    if (dropping || data.length() > 0) {
+                        context.metrics().recordRadioFrame(!dropping);
+                    }
+                    if (dropping) {
+                        logDebug("dropped an event larger than " + maxFrameChars + " characters.");
+                    } else if (data.length() > 0) {
+                        frameHandler.handle(data, () -> { });
+                    }
+                    data.setLength(0);
+                    dropping = false;
+                    continue;
+                }
+                if (dropping || !line.startsWith(DATA_FIELD)) {
+                    continue;
+                }
+                int start = line.startsWith(" ", DATA_FIELD.length()) ? DATA_FIELD.length() + 1 : DATA_FIELD.length();
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(line, start, line.length());
+                if (data.length() > maxFrameChars) {
+                    dropping = true;
+                    data.setLength(0);
+                }
+            }
+            if (isActive(lines)) {
+                logDebug("ended.");
+            }
+        } catch (RuntimeException e) {
+            if (isActive(lines)) {
+                logFailure("error", e);
+            }
+        }
+        connectionLost(lines);
+    }
+}
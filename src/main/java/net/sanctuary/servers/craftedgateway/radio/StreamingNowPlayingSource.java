@@ -0,0 +1,243 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A source that holds one long-lived connection open and is pushed updates over it.
+ *
+ * <p>Dropped and failed connections are retried through the shared {@link ReconnectPolicy}.
+ * A heartbeat task runs every {@code heartbeatIntervalTicks}: it drops the connection when
+ * nothing has arrived within the idle timeout, since a half-open connection never reports
+ * an error, and otherwise gives the subclass a chance to ping.</p>
+ *
+ * @param <C> the connection handle
+ */
+abstract class StreamingNowPlayingSource<C> implements NowPlayingSource {
+    protected final NowPlayingSource.Context context;
+    protected final Logger logger;
+    protected final CentrifugoFrameHandler frameHandler;
+
+    private final String label;
+    private final long heartbeatIntervalTicks;
+    private final long idleTimeoutMillis;
+    private final Object connectionLock = new Object();
+
+    private volatile boolean running;
+    private volatile C connection;
+    private volatile long lastInboundMillis;
+    private boolean connecting;
+    private NowPlayingSource.Task reconnectTask;
+    private NowPlayingSource.Task heartbeatTask;
+
+    protected StreamingNowPlayingSource(
+        NowPlayingSource.Context context,
+        String label,
+        long heartbeatIntervalTicks,
+        long idleTimeoutMillis
+    ) {
+        this.context = context;
+        this.logger = context.logger();
+        this.frameHandler = new CentrifugoFrameHandler(context);
+        this.label = label;
+        this.heartbeatIntervalTicks = Math.max(1L, heartbeatIntervalTicks);
+        this.idleTimeoutMillis = Math.max(1L, idleTimeoutMillis);
+    }
+
+    /**
+     * Starts opening a connection. The future completes once it is ready to receive.
+     */
+    protected abstract CompletableFuture<C> open();
+
+    /**
+     * Runs once a connection has been accepted as the current one.
+     */
+    protected abstract void onConnected(C connection);
+
+    /**
+     * Closes a connection that is no longer wanted.
+     */
+    protected abstract void close(C connection);
+
+    /**
+     * Tears a connection down without waiting for the other end.
+     */
+    protected abstract void abort(C connection);
+
+    /**
+     * Pings the current connection, if the protocol supports it.
+     */
+    protected void ping(C connection) {
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        synchronized (connectionLock) {
+            NowPlayingSource.Task.cancelAndClear(heartbeatTask);
+            heartbeatTask = context.scheduler().runRepeating(
+                this::checkHeartbeat,
+                heartbeatIntervalTicks,
+                heartbeatIntervalTicks
+            );
+        }
+        connect();
+    }
+
+    @Override
+    public void stop() {
+        C current;
+        synchronized (connectionLock) {
+            running = false;
+            heartbeatTask = NowPlayingSource.Task.cancelAndClear(heartbeatTask);
+            reconnectTask = NowPlayingSource.Task.cancelAndClear(reconnectTask);
+            current = connection;
+            connection = null;
+        }
+        if (current != null) {
+            close(current);
+        }
+    }
+
+    @Override
+    public NowPlayingSource.Status status() {
+        ReconnectPolicy.Snapshot snapshot = context.reconnectPolicy().snapshot();
+        C current = connection;
+        long lastInbound = lastInboundMillis;
+        long lastMessageAge = current == null || lastInbound == 0L
+            ? -1L
+            : Math.max(0L, System.currentTimeMillis() - lastInbound);
+        return new NowPlayingSource.Status(
+            current != null,
+            snapshot.state().displayName(),
+            snapshot.consecutiveFailures(),
+            snapshot.millisUntilNextAttempt(),
+            lastMessageAge
+        );
+    }
+
+    protected boolean isActive(C candidate) {
+        synchronized (connectionLock) {
+            return running && connection == candidate;
+        }
+    }
+
+    protected void markInbound() {
+        lastInboundMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Reports that a connection ended. Only the current connection counts; a stale one that
+     * was already replaced or closed is ignored.
+     */
+    protected void connectionLost(C lost) {
+        synchronized (connectionLock) {
+            if (connection != lost) {
+                return;
+            }
+            connection = null;
+        }
+        context.sink().connectionLost();
+        scheduleReconnect();
+    }
+
+    protected void logFailure(String message, Throwable error) {
+        if (context.debugLogging()) {
+            logger.log(Level.FINE, label + " " + message + ".", error);
+        } else {
+            logger.warning(label + " " + message + ": " + error.getMessage());
+        }
+    }
+
+    protected void logDebug(String message) {
+        if (context.debugLogging()) {
+            logger.info(label + " " + message);
+        }
+    }
+
+    private void connect() {
+        synchronized (connectionLock) {
+            if (!running || connecting || connection != null) {
+                return;
+            }
+            connecting = true;
+        }
+        CompletableFuture<C> opening;
+        try {
+            opening = open();
+        } catch (RuntimeException e) {
+            opening = CompletableFuture.failedFuture(e);
+        }
+        opening.whenComplete((opened, error) -> {
+            boolean accepted = false;
+            synchronized (connectionLock) {
+                connecting = false;
+                if (error == null && running && connection == null) {
+                    connection = opened;
+                    accepted = true;
+                }
+            }
+            if (error != null) {
+                logFailure("connection failed", error);
+                context.sink().connectionLost();
+                scheduleReconnect();
+                return;
+            }
+            if (!accepted) {
+                if (opened != null) {
+                    close(opened);
+                }
+                return;
+            }
+            context.reconnectPolicy().recordConnected();
+            markInbound();
+            onConnected(opened);
+            logDebug("connected.");
+        });
+    }
+
+    private void scheduleReconnect() {
+        synchronized (connectionLock) {
+            if (!running || reconnectTask != null) {
+                return;
+            }
+            ReconnectPolicy.Backoff backoff = context.reconnectPolicy().recordFailure();
+            if (backoff.circuitOpened()) {
+                logger.warning(
+                    label + " failed " + backoff.consecutiveFailures()
+                        + " times in a row; pausing reconnects for " + backoff.delayMillis() / 1000L + "s."
+                );
+            } else {
+                logDebug("reconnecting in " + backoff.delayMillis() + "ms.");
+            }
+            long delayTicks = Math.max(1L, (backoff.delayMillis() + 49L) / 50L);
+            reconnectTask = context.scheduler().runLater(() -> {
+                synchronized (connectionLock) {
+                    reconnectTask = null;
+                }
+                context.reconnectPolicy().recordAttempt();
+                connect();
+            }, delayTicks);
+        }
+    }
+
+    /**
+     * Pings the connection and drops it when nothing, not even a pong, has arrived within the
+     * idle timeout.
+     */
+    private void checkHeartbeat() {
+        C current = connection;
+        if (!running || current == null) {
+            return;
+        }
+        long idleMillis = System.currentTimeMillis() - lastInboundMillis;
+        if (idleMillis >= idleTimeoutMillis) {
+            logger.warning(label + " received nothing for " + idleMillis / 1000L + "s; reconnecting.");
+            abort(current);
+            connectionLost(current);
+            return;
+        }
+        ping(current);
+    }
+}
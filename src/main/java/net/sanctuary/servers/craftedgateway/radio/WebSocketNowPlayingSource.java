@@ -0,0 +1,187 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import java.net.URI;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
+
+/**
+ * Receives AzuraCast now-playing updates over the Centrifugo websocket, subscribing to every
+ * station on one connection.
+ */
+final class WebSocketNowPlayingSource extends StreamingNowPlayingSource<WebSocket> {
+    static final String TYPE = "websocket";
+
+    private static final String CENTRIFUGO_PONG = "{}";
+    private static final int INITIAL_FRAME_BUFFER_CHARS = 8_192;
+
+    private final URI uri;
+    private final Duration connectTimeout;
+    private final int maxFrameChars;
+
+    WebSocketNowPlayingSource(
+        NowPlayingSource.Context context,
+        URI uri,
+        Duration connectTimeout,
+        long heartbeatIntervalTicks,
+        long idleTimeoutMillis,
+        int maxFrameChars
+    ) {
+        super(context, "Radio websocket", heartbeatIntervalTicks, idleTimeoutMillis);
+        this.uri = uri;
+        this.connectTimeout = connectTimeout;
+        this.maxFrameChars = maxFrameChars;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    protected CompletableFuture<WebSocket> open() {
+        return context.httpClient().newWebSocketBuilder()
+            .connectTimeout(connectTimeout)
+            .buildAsync(uri, new RadioWebSocketListener());
+    }
+
+    @Override
+    protected void onConnected(WebSocket socket) {
+        String connectMessage = CentrifugoFrameHandler.buildSubscribeMessage(context.sink().stations().values());
+        if (connectMessage == null || !isActive(socket)) {
+            return;
+        }
+        socket.sendText(connectMessage, true);
+    }
+
+    @Override
+    protected void close(WebSocket socket) {
+        try {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown");
+        } catch (Exception ignored) {
+            socket.abort();
+        }
+    }
+
+    @Override
+    protected void abort(WebSocket socket) {
+        socket.abort();
+    }
+
+    @Override
+    protected void ping(WebSocket socket) {
+        socket.sendPing(ByteBuffer.allocate(0))
+            .whenComplete((ignored, error) -> logSendFailure("Failed to ping radio websocket.", error));
+    }
+
+    /**
+     * Answers a Centrifugo ping, which arrives as an empty JSON object, with an empty object.
+     */
+    private void sendPong(WebSocket socket) {
+        if (!isActive(socket)) {
+            return;
+        }
+        socket.sendText(CENTRIFUGO_PONG, true)
+            .whenComplete((ignored, error) -> logSendFailure("Failed to answer radio websocket ping.", error));
+    }
+
+    /**
+     * Logs a failed send. {@link WebSocket} reports send failures, such as a send while the
+     * previous one is still pending, through the returned future rather than by throwing.
+     */
+    private void logSendFailure(String message, Throwable error) {
+        if (error != null && context.debugLogging()) {
+            logger.log(Level.FINE, message, error);
+        }
+    }
+
+    /**
+     * Reassembles fragmented text frames. {@code onText} is never re-entered: the next call
+     * only happens after {@code request(1)}, so the reassembly buffer needs no locking.
+     * Single-fragment frames are parsed straight from the websocket's buffer, and frames
+     * larger than {@code radio.max-frame-chars} are dropped.
+     */
+    private final class RadioWebSocketListener implements WebSocket.Listener {
+        private char[] buffer = new char[INITIAL_FRAME_BUFFER_CHARS];
+        private int length;
+        private boolean dropping;
+
+        @Override
+        public void onOpen(WebSocket webSocket) {
+            webSocket.request(1);
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            markInbound();
+            if (!dropping) {
+                if (length + data.length() > maxFrameChars) {
+                    dropping = true;
+                    length = 0;
+                } else if (last && length == 0) {
+                    frameHandler.handle(data, () -> sendPong(webSocket));
+                } else {
+                    append(data);
+                    if (last) {
+                        frameHandler.handle(CharBuffer.wrap(buffer, 0, length), () -> sendPong(webSocket));
+                        length = 0;
+                    }
+                }
+            }
+            if (last) {
+                context.metrics().recordRadioFrame(!dropping);
+                if (dropping) {
+                    logDebug("dropped a frame larger than " + maxFrameChars + " characters.");
+                }
+                dropping = false;
+            }
+            webSocket.request(1);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        private void append(CharSequence data) {
+            int required = length + data.length();
+            if (required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(required, Math.min(buffer.length * 2, maxFrameChars)));
+            }
+            if (data instanceof CharBuffer chars) {
+                chars.get(chars.position(), buffer, length, chars.remaining());
+            } else {
+                for (int i = 0; i < data.length(); i++) {
+                    buffer[length + i] = data.charAt(i);
+                }
+            }
+            length = required;
+        }
+
+        @Override
+        public CompletionStage<?> onPing(WebSocket webSocket, ByteBuffer message) {
+            markInbound();
+            return WebSocket.Listener.super.onPing(webSocket, message);
+        }
+
+        @Override
+        public CompletionStage<?> onPong(WebSocket webSocket, ByteBuffer message) {
+            markInbound();
+            return WebSocket.Listener.super.onPong(webSocket, message);
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            logFailure("error", error);
+            connectionLost(webSocket);
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            logDebug("closed: " + statusCode + " (" + reason + ")");
+            connectionLost(webSocket);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
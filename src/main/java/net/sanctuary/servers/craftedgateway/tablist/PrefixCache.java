@@ -0,0 +1,151 @@
+package net.sanctuary.servers.craftedgateway.tablist;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.cacheddata.CachedDataManager;
+import net.luckperms.api.event.EventSubscription;
+import net.luckperms.api.event.group.GroupDataRecalculateEvent;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
+import net.luckperms.api.model.user.User;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches LuckPerms prefixes per player together with their parsed forms.
+ *
+ * <p>Entries are filled on join (or lazily on first use) and kept current through the
+ * LuckPerms event bus, so a steady-state tablist update does no LuckPerms lookups and
+ * no legacy parsing.</p>
+ */
+final class PrefixCache {
+    private final Plugin plugin;
+    private final ChangeListener changeListener;
+    private final LegacyComponentSerializer legacySerializer = LegacyComponentSerializer.legacyAmpersand();
+    private final LegacyComponentSerializer legacySectionSerializer = LegacyComponentSerializer.legacySection();
+    private final Map<UUID, CachedPrefix> entries = new ConcurrentHashMap<>();
+    private final List<EventSubscription<?>> subscriptions = new ArrayList<>();
+
+    private volatile LuckPerms luckPerms;
+
+    PrefixCache(Plugin plugin, ChangeListener changeListener) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin must not be null");
+        this.changeListener = Objects.requireNonNull(changeListener, "changeListener must not be null");
+    }
+
+    /**
+     * Switches the cache to a LuckPerms instance (or none) and re-subscribes to its events.
+     */
+    synchronized void bind(LuckPerms current) {
+        if (current == luckPerms && (current == null || !subscriptions.isEmpty())) {
+            return;
+        }
+        unsubscribe();
+        entries.clear();
+        luckPerms = current;
+        if (current == null) {
+            return;
+        }
+        subscriptions.add(current.getEventBus().subscribe(
+            plugin,
+            UserDataRecalculateEvent.class,
+            this::onUserDataRecalculate
+        ));
+        subscriptions.add(current.getEventBus().subscribe(
+            plugin,
+            GroupDataRecalculateEvent.class,
+            this::onGroupDataRecalculate
+        ));
+    }
+
+    synchronized void close() {
+        unsubscribe();
+        entries.clear();
+        luckPerms = null;
+    }
+
+    void load(Player player) {
+        entries.put(player.getUniqueId(), create(player.getName(), lookupPrefix(player.getUniqueId())));
+    }
+
+    void remove(UUID playerId) {
+        entries.remove(playerId);
+    }
+
+    CachedPrefix get(Player player) {
+        CachedPrefix cached = entries.get(player.getUniqueId());
+        if (cached != null && cached.playerName().equals(player.getName())) {
+            return cached;
+        }
+        CachedPrefix created = create(player.getName(), lookupPrefix(player.getUniqueId()));
+        entries.put(player.getUniqueId(), created);
+        return created;
+    }
+
+    private void onUserDataRecalculate(UserDataRecalculateEvent event) {
+        User user = event.getUser();
+        CachedPrefix existing = entries.get(user.getUniqueId());
+        if (existing == null) {
+            return;
+        }
+        CachedDataManager data = event.getData();
+        String prefix = data == null ? null : data.getMetaData().getPrefix();
+        CachedPrefix updated = create(existing.playerName(), prefix);
+        if (!updated.equals(existing) && entries.replace(user.getUniqueId(), existing, updated)) {
+            changeListener.prefixChanged(user.getUniqueId());
+        }
+    }
+
+    private void onGroupDataRecalculate(GroupDataRecalculateEvent event) {
+        entries.clear();
+        changeListener.prefixesInvalidated();
+    }
+
+    private String lookupPrefix(UUID playerId) {
+        LuckPerms current = luckPerms;
+        if (current == null) {
+            return null;
+        }
+        User user = current.getUserManager().getUser(playerId);
+        if (user == null) {
+            return null;
+        }
+        return user.getCachedData().getMetaData().getPrefix();
+    }
+
+    private CachedPrefix create(String playerName, String rawPrefix) {
+        String prefix = rawPrefix == null ? "" : rawPrefix;
+        Component prefixComponent = prefix.isBlank() ? Component.empty() : legacySerializer.deserialize(prefix);
+        Component name = Component.text(playerName);
+        Component listName = prefixComponent.equals(Component.empty())
+            ? name
+            : prefixComponent.append(Component.space()).append(name);
+        return new CachedPrefix(playerName, prefix, prefixComponent, legacySectionSerializer.serialize(listName));
+    }
+
+    private void unsubscribe() {
+        for (EventSubscription<?> subscription : subscriptions) {
+            subscription.close();
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * Notified from LuckPerms event threads when cached prefixes change.
+     */
+    interface ChangeListener {
+        void prefixChanged(UUID playerId);
+
+        void prefixesInvalidated();
+    }
+
+    record CachedPrefix(String playerName, String prefix, Component prefixComponent, String listName) {
+    }
+}
@@ -0,0 +1,34 @@
+package net.sanctuary.servers.craftedgateway.tablist;
+
+import java.util.Map;
+
+/**
+ * The header and footer of one update cycle with shared placeholders already bound.
+ * {@code headerSource} and {@code footerSource} identify the compiled templates the
+ * frame was bound from, so a reload invalidates it.
+ */
+record TablistFrame(
+    TablistTemplate headerSource,
+    TablistTemplate footerSource,
+    TablistValues values,
+    TablistTemplate header,
+    TablistTemplate footer
+) {
+    static TablistFrame bind(TablistTemplate header, TablistTemplate footer, TablistValues shared) {
+        return new TablistFrame(header, footer, shared, header.bindShared(shared), footer.bindShared(shared));
+    }
+
+    boolean matches(
+        TablistTemplate header,
+        TablistTemplate footer,
+        String time,
+        String song,
+        Map<String, String> stationSongs
+    ) {
+        return headerSource == header
+            && footerSource == footer
+            && values.time().equals(time)
+            && values.song().equals(song)
+            && values.stationSongs().equals(stationSongs);
+    }
+}
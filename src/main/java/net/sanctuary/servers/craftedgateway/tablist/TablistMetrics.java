@@ -0,0 +1,19 @@
+package net.sanctuary.servers.craftedgateway.tablist;
+
+/**
+ * The metrics recorded while updating player tablists. Implemented by the plugin's metrics
+ * service; render timings are recorded from the render worker threads.
+ */
+public interface TablistMetrics {
+    boolean isEnabled();
+
+    void recordTablistUpdate(long durationNanos);
+
+    void recordTablistRender(long durationNanos);
+
+    void recordTablistRenderResult(boolean applied);
+
+    void recordTablistHeaderFooter(boolean sent);
+
+    void recordTablistListName(boolean sent);
+}
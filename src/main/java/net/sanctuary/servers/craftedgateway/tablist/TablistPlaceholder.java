@@ -0,0 +1,68 @@
+package net.sanctuary.servers.craftedgateway.tablist;
+
+import net.kyori.adventure.text.Component;
+
+/**
+ * Placeholders understood by tablist header and footer lines.
+ *
+ * <p>Shared placeholders resolve to the same value for every player and are rendered
+ * once per update cycle; per-player placeholders are rendered for each player.</p>
+ */
+enum TablistPlaceholder {
+    PLAYER("player", true),
+    TIME("time", false),
+    SONG("song", false),
+    PING("ping", true),
+    PREFIX("prefix", true);
+
+    private static final TablistPlaceholder[] VALUES = values();
+
+    private final String key;
+    private final boolean perPlayer;
+
+    TablistPlaceholder(String key, boolean perPlayer) {
+        this.key = key;
+        this.perPlayer = perPlayer;
+    }
+
+    String key() {
+        return key;
+    }
+
+    boolean isPerPlayer() {
+        return perPlayer;
+    }
+
+    /**
+     * Returns the raw value substituted into legacy-formatted lines.
+     */
+    String legacyValue(TablistValues values) {
+        return switch (this) {
+            case PLAYER -> values.player();
+            case TIME -> values.time();
+            case SONG -> values.song();
+            case PING -> values.ping();
+            case PREFIX -> values.prefix();
+        };
+    }
+
+    /**
+     * Returns the value passed to a compiled line. MiniMessage lines receive the parsed
+     * prefix component; everything else is inserted as plain text.
+     */
+    Object templateValue(TablistValues values, boolean legacy) {
+        if (this == PREFIX && !legacy) {
+            Component prefix = values.prefixComponent();
+            return prefix == null ? Component.empty() : prefix;
+        }
+        return legacyValue(values);
+    }
+
+    static TablistPlaceholder fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    static int count() {
+        return VALUES.length;
+    }
+}
@@ -0,0 +1,93 @@
+package net.sanctuary.servers.craftedgateway.tablist;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Renders tablist headers and footers from player snapshots.
+ *
+ * <p>Rendering only touches immutable components and snapshot values, so it can run off
+ * the server thread. Large batches are split across the worker pool with a parallel
+ * stream; small batches are rendered by a single worker.</p>
+ */
+final class TablistRenderer {
+    private static final int PARALLEL_THRESHOLD = 64;
+    private static final int MAX_WORKERS = 4;
+
+    private final Object poolLock = new Object();
+    private ForkJoinPool pool;
+
+    static RenderedTablist render(PlayerSnapshot snapshot, TablistFrame frame) {
+        PrefixCache.CachedPrefix prefix = snapshot.prefix();
+        TablistValues values = frame.values().withPlayer(
+            snapshot.name(),
+            Integer.toString(snapshot.ping()),
+            prefix.prefix(),
+            prefix.prefixComponent()
+        );
+        return new RenderedTablist(
+            snapshot.playerId(),
+            frame.header().render(values),
+            frame.footer().render(values),
+            prefix.listName()
+        );
+    }
+
+    CompletableFuture<List<RenderedTablist>> renderAsync(List<PlayerSnapshot> snapshots, TablistFrame frame) {
+        ForkJoinPool workers = workers();
+        if (snapshots.size() >= PARALLEL_THRESHOLD) {
+            return CompletableFuture.supplyAsync(
+                () -> snapshots.parallelStream().map(snapshot -> render(snapshot, frame)).toList(),
+                workers
+            );
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            List<RenderedTablist> rendered = new ArrayList<>(snapshots.size());
+            for (PlayerSnapshot snapshot : snapshots) {
+                rendered.add(render(snapshot, frame));
+            }
+            return rendered;
+        }, workers);
+    }
+
+    void close() {
+        synchronized (poolLock) {
+            if (pool != null) {
+                pool.shutdownNow();
+                pool = null;
+            }
+        }
+    }
+
+    private ForkJoinPool workers() {
+        synchronized (poolLock) {
+            if (pool == null) {
+                int parallelism = Math.max(1, Math.min(MAX_WORKERS, Runtime.getRuntime().availableProcessors() - 1));
+                pool = new ForkJoinPool(parallelism, TablistRenderer::newWorker, null, false);
+            }
+            return pool;
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("CraftedGateway-Tablist-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Player state captured on the server thread for an off-thread render.
+     */
+    record PlayerSnapshot(UUID playerId, String name, int ping, PrefixCache.CachedPrefix prefix) {
+    }
+
+    record RenderedTablist(UUID playerId, Component header, Component footer, String listName) {
+    }
+}
@@ -2,29 +2,34 @@ package net.sanctuary.servers.craftedgateway.tablist;
 
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
-import net.luckperms.api.LuckPerms;
 import net.luckperms.api.LuckPermsProvider;
-import net.luckperms.api.model.user.User;
-import net.sanctuary.servers.craftedgateway.CraftedGatewayPlugin;
 import net.sanctuary.servers.craftedgateway.config.ConfigKeys;
 import net.sanctuary.servers.craftedgateway.config.ConfigUtils;
-import net.sanctuary.servers.craftedgateway.metrics.MetricsService;
 import net.sanctuary.servers.craftedgateway.radio.RadioNowPlayingService;
-import net.sanctuary.servers.craftedgateway.text.MessageTemplate;
 import net.sanctuary.servers.craftedgateway.util.SchedulerSupport;
+import net.sanctuary.servers.craftedgateway.util.TickTimeMonitor;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.time.DateTimeException;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class TablistService {
     private static final String DEFAULT_TIME_FORMAT = "h:mm a";
@@ -32,40 +37,88 @@ public final class TablistService {
     private static final String DEFAULT_FOOTER = "<gray>Now Playing:</gray> <yellow>{song}</yellow>";
     private static final boolean DEFAULT_ENABLED = true;
     private static final int DEFAULT_UPDATE_TICKS = 40;
+    private static final boolean DEFAULT_SHARDED_UPDATES = false;
+    private static final int DEFAULT_TICK_BUDGET_MICROS = 0;
+    private static final boolean DEFAULT_ASYNC_RENDER = false;
+    private static final String REFRESH_MODE_ADAPTIVE = "adaptive";
+    private static final String DEFAULT_REFRESH_MODE = "fixed";
+    private static final int DEFAULT_MIN_REFRESH_TICKS = 20;
+    private static final int DEFAULT_PING_REFRESH_TICKS = 200;
+    private static final double DEFAULT_MSPT_THRESHOLD = 55.0;
+    private static final int DEFAULT_MAX_BACKOFF = 8;
+    private static final long ADAPTIVE_CHECK_TICKS = 20L;
 
-    private final CraftedGatewayPlugin plugin;
+    private final Plugin plugin;
     private final BukkitAudiences audiences;
     private final RadioNowPlayingService radioService;
-    private final MetricsService metrics;
+    private final TablistMetrics metrics;
     private final Object taskLock = new Object();
-    private final LegacyComponentSerializer legacySerializer = LegacyComponentSerializer.legacyAmpersand();
-    private final LegacyComponentSerializer legacySectionSerializer = LegacyComponentSerializer.legacySection();
+    private final Map<UUID, SentState> sentStates = new ConcurrentHashMap<>();
+    private final PrefixCache prefixCache;
+    private final Set<UUID> pendingPlayers = new LinkedHashSet<>();
+    private final Map<UUID, Long> latestRenderRequests = new HashMap<>();
+    private final TablistRenderer renderer = new TablistRenderer();
+    private final AtomicBoolean refreshAllRequested = new AtomicBoolean();
+    private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
+    private final TickTimeMonitor tickTimeMonitor = new TickTimeMonitor();
 
     private volatile boolean enabled;
     private volatile long updateIntervalTicks;
+    private volatile boolean shardedUpdates;
+    private volatile long tickBudgetNanos;
+    private volatile boolean asyncRender;
+    private volatile boolean adaptiveRefresh;
+    private volatile long minRefreshTicks;
+    private volatile long pingRefreshTicks;
+    private volatile double msptThreshold;
+    private volatile int maxBackoff;
     private volatile DateTimeFormatter timeFormatter;
-    private volatile List<String> headerLines;
-    private volatile List<String> footerLines;
-    private volatile LuckPerms luckPerms;
+    private volatile TablistTemplate headerTemplate;
+    private volatile TablistTemplate footerTemplate;
     private volatile boolean loggedLuckPermsMissing;
+    private volatile TablistFrame sharedFrame;
     private BukkitTask task;
+    private long shardTick;
+    private long renderSequence;
+    private long adaptiveTick;
+    private long lastRefreshTick;
+    private long lastPingRefreshTick;
+    private int backoff = 1;
 
     public TablistService(
-        CraftedGatewayPlugin plugin,
+        Plugin plugin,
         BukkitAudiences audiences,
         RadioNowPlayingService radioService,
-        MetricsService metrics
+        TablistMetrics metrics
     ) {
         this.plugin = plugin;
         this.audiences = audiences;
         this.radioService = radioService;
         this.metrics = Objects.requireNonNull(metrics, "metrics must not be null");
+        this.prefixCache = new PrefixCache(plugin, new PrefixCache.ChangeListener() {
+            @Override
+            public void prefixChanged(UUID playerId) {
+                if (adaptiveRefresh) {
+                    dirtyPlayers.add(playerId);
+                }
+            }
+
+            @Override
+            public void prefixesInvalidated() {
+                if (adaptiveRefresh) {
+                    refreshAllRequested.set(true);
+                }
+            }
+        });
         this.timeFormatter = DateTimeFormatter.ofPattern(DEFAULT_TIME_FORMAT, Locale.ENGLISH);
-        this.headerLines = List.of(DEFAULT_HEADER);
-        this.footerLines = List.of(DEFAULT_FOOTER);
+        this.headerTemplate = TablistTemplate.compile(List.of(DEFAULT_HEADER));
+        this.footerTemplate = TablistTemplate.compile(List.of(DEFAULT_FOOTER));
         this.updateIntervalTicks = DEFAULT_UPDATE_TICKS;
         this.enabled = DEFAULT_ENABLED;
         refreshLuckPerms(plugin.getConfig());
+        if (radioService != null) {
+            radioService.addSongChangeListener(this::onSongChanged);
+        }
     }
 
     public void start() {
@@ -74,13 +127,42 @@ public final class TablistService {
 
     public void stop() {
         cancelTask();
+        renderer.close();
+        sentStates.clear();
+        latestRenderRequests.clear();
+        prefixCache.close();
     }
 
     public void reload() {
         reloadFromConfig();
+        sentStates.clear();
+        latestRenderRequests.clear();
+        sharedFrame = null;
         scheduleTask();
     }
 
+    /**
+     * Loads the LuckPerms prefix for a joining player so the next update is served from cache.
+     */
+    public void handleJoin(Player player) {
+        if (enabled) {
+            prefixCache.load(player);
+            if (adaptiveRefresh) {
+                dirtyPlayers.add(player.getUniqueId());
+            }
+        }
+    }
+
+    /**
+     * Drops the cached prefix and last-sent tablist state for a player who left the server.
+     */
+    public void handleQuit(Player player) {
+        sentStates.remove(player.getUniqueId());
+        dirtyPlayers.remove(player.getUniqueId());
+        latestRenderRequests.remove(player.getUniqueId());
+        prefixCache.remove(player.getUniqueId());
+    }
+
     private void reloadFromConfig() {
         FileConfiguration config = plugin.getConfig();
         enabled = config.getBoolean(
@@ -91,34 +173,80 @@ public final class TablistService {
             1,
             ConfigUtils.getDefaultInt(config, ConfigKeys.Tablist.UPDATE_INTERVAL_TICKS, DEFAULT_UPDATE_TICKS)
         );
+        shardedUpdates = config.getBoolean(
+            ConfigKeys.Tablist.SHARDED_UPDATES,
+            ConfigUtils.getDefaultBoolean(config, ConfigKeys.Tablist.SHARDED_UPDATES, DEFAULT_SHARDED_UPDATES)
+        );
+        tickBudgetNanos = Math.max(
+            0,
+            config.getInt(
+                ConfigKeys.Tablist.TICK_BUDGET_MICROS,
+                ConfigUtils.getDefaultInt(config, ConfigKeys.Tablist.TICK_BUDGET_MICROS, DEFAULT_TICK_BUDGET_MICROS)
+            )
+        ) * 1_000L;
+        asyncRender = config.getBoolean(
+            ConfigKeys.Tablist.ASYNC_RENDER,
+            ConfigUtils.getDefaultBoolean(config, ConfigKeys.Tablist.ASYNC_RENDER, DEFAULT_ASYNC_RENDER)
+        );
+        String refreshMode = ConfigUtils.getNormalizedStringFromDefaults(
+            config,
+            ConfigKeys.Tablist.REFRESH_MODE,
+            DEFAULT_REFRESH_MODE
+        );
+        adaptiveRefresh = REFRESH_MODE_ADAPTIVE.equalsIgnoreCase(refreshMode);
+        minRefreshTicks = Math.max(
+            1,
+            config.getInt(
+                ConfigKeys.Tablist.ADAPTIVE_MIN_REFRESH_TICKS,
+                ConfigUtils.getDefaultInt(config, ConfigKeys.Tablist.ADAPTIVE_MIN_REFRESH_TICKS, DEFAULT_MIN_REFRESH_TICKS)
+            )
+        );
+        pingRefreshTicks = Math.max(
+            1,
+            config.getInt(
+                ConfigKeys.Tablist.ADAPTIVE_PING_REFRESH_TICKS,
+                ConfigUtils.getDefaultInt(config, ConfigKeys.Tablist.ADAPTIVE_PING_REFRESH_TICKS, DEFAULT_PING_REFRESH_TICKS)
+            )
+        );
+        msptThreshold = config.getDouble(
+            ConfigKeys.Tablist.ADAPTIVE_MSPT_THRESHOLD,
+            ConfigUtils.getDefaultDouble(config, ConfigKeys.Tablist.ADAPTIVE_MSPT_THRESHOLD, DEFAULT_MSPT_THRESHOLD)
+        );
+        maxBackoff = Math.max(
+            1,
+            config.getInt(
+                ConfigKeys.Tablist.ADAPTIVE_MAX_BACKOFF,
+                ConfigUtils.getDefaultInt(config, ConfigKeys.Tablist.ADAPTIVE_MAX_BACKOFF, DEFAULT_MAX_BACKOFF)
+            )
+        );
         String pattern = ConfigUtils.getNormalizedStringFromDefaults(
             config,
             ConfigKeys.Tablist.TIME_FORMAT,
             DEFAULT_TIME_FORMAT
         );
         timeFormatter = buildFormatter(pattern, DEFAULT_TIME_FORMAT);
-        headerLines = normalizeLines(
+        headerTemplate = TablistTemplate.compile(normalizeLines(
             config.getStringList(ConfigKeys.Tablist.HEADER),
             DEFAULT_HEADER
-        );
-        footerLines = normalizeLines(
+        ));
+        footerTemplate = TablistTemplate.compile(normalizeLines(
             config.getStringList(ConfigKeys.Tablist.FOOTER),
             DEFAULT_FOOTER
-        );
+        ));
         refreshLuckPerms(config);
     }
 
     private void refreshLuckPerms(FileConfiguration config) {
         try {
             if (Bukkit.getPluginManager().getPlugin("LuckPerms") != null) {
-                luckPerms = LuckPermsProvider.get();
+                prefixCache.bind(LuckPermsProvider.get());
                 loggedLuckPermsMissing = false;
                 return;
             }
         } catch (IllegalStateException ignored) {
             // LuckPerms not ready or not installed.
         }
-        luckPerms = null;
+        prefixCache.bind(null);
         if (!loggedLuckPermsMissing
             && config.getBoolean(
                 ConfigKeys.Tablist.DEBUG_LOGGING,
@@ -131,12 +259,16 @@ public final class TablistService {
 
     private void scheduleTask() {
         synchronized (taskLock) {
+            shardTick = 0L;
+            pendingPlayers.clear();
+            resetAdaptiveState();
+            long interval = adaptiveRefresh || shardedUpdates ? 1L : updateIntervalTicks;
             task = SchedulerSupport.rescheduleRepeatingIfEnabled(
                 plugin,
                 task,
-                this::updateAll,
+                this::update,
                 1L,
-                updateIntervalTicks,
+                interval,
                 enabled
             );
         }
@@ -145,6 +277,21 @@ public final class TablistService {
     private void cancelTask() {
         synchronized (taskLock) {
             task = SchedulerSupport.cancelAndClearTask(task);
+            pendingPlayers.clear();
+        }
+    }
+
+    /**
+     * Runs one pass of the scheduled update task in the configured refresh mode. The fixed
+     * mode runs once per update interval, the sharded and adaptive modes once per tick.
+     */
+    void update() {
+        if (adaptiveRefresh) {
+            updateAdaptive();
+        } else if (shardedUpdates) {
+            updateShard();
+        } else {
+            updateAll();
         }
     }
 
@@ -155,10 +302,17 @@ public final class TablistService {
         boolean record = metrics.isEnabled();
         long startNanos = record ? System.nanoTime() : 0L;
         try {
-            String time = timeFormatter.format(LocalTime.now());
-            String song = radioService != null ? radioService.getLastSongText().orElse("") : "";
+            TablistFrame frame = currentFrame();
+            if (asyncRender) {
+                List<TablistRenderer.PlayerSnapshot> snapshots = new ArrayList<>();
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    snapshots.add(snapshot(player));
+                }
+                dispatchRender(snapshots, frame);
+                return;
+            }
             for (Player player : Bukkit.getOnlinePlayers()) {
-                updatePlayer(player, time, song);
+                updatePlayer(player, frame);
             }
         } finally {
             if (record) {
@@ -167,107 +321,273 @@ public final class TablistService {
         }
     }
 
-    public boolean isEnabled() {
-        return enabled;
+    /**
+     * Updates one bucket of players per tick. Players are bucketed by a stable hash of their
+     * UUID over {@code update-interval-ticks} buckets, so each player is still refreshed once
+     * per interval while the cost is spread across ticks. Players that do not fit in the
+     * per-tick budget are deferred to the front of the next tick.
+     */
+    private void updateShard() {
+        if (!enabled) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        long budget = tickBudgetNanos;
+        int bucketCount = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, updateIntervalTicks));
+        int bucket = (int) (shardTick++ % bucketCount);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            UUID playerId = player.getUniqueId();
+            if (Math.floorMod(playerId.hashCode(), bucketCount) == bucket) {
+                pendingPlayers.add(playerId);
+            }
+        }
+        if (pendingPlayers.isEmpty()) {
+            return;
+        }
+        try {
+            drainPending(budget);
+        } finally {
+            if (metrics.isEnabled()) {
+                metrics.recordTablistUpdate(System.nanoTime() - startNanos);
+            }
+        }
     }
 
-    private void updatePlayer(Player player, String time, String song) {
-        String prefix = getPrefix(player);
-        Component prefixComponent = parsePrefixComponent(prefix);
-        updatePlayerListName(player, prefixComponent);
+    /**
+     * Refreshes players when something they can see has changed instead of on a timer:
+     * a new {@code {time}} value, a new song, a join or a prefix change. {@code {ping}} is
+     * the only value refreshed periodically. While the server's tick time is above the
+     * configured threshold, the minimum gap between refreshes is stretched.
+     */
+    private void updateAdaptive() {
+        if (!enabled) {
+            return;
+        }
+        long tick = ++adaptiveTick;
+        tickTimeMonitor.onTick();
+        if (tick % ADAPTIVE_CHECK_TICKS == 0L) {
+            checkTimeRollover();
+            adjustBackoff();
+        }
+        if (pendingPlayers.isEmpty() && tick - lastRefreshTick >= minRefreshTicks * backoff) {
+            queueAdaptiveRefresh(tick);
+        }
+        if (pendingPlayers.isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            drainPending(tickBudgetNanos);
+        } finally {
+            if (metrics.isEnabled()) {
+                metrics.recordTablistUpdate(System.nanoTime() - startNanos);
+            }
+        }
+    }
 
-        Component header = renderLines(
-            headerLines,
-            player,
-            time,
-            song,
-            prefix,
-            prefixComponent
-        );
-        Component footer = renderLines(
-            footerLines,
-            player,
-            time,
-            song,
-            prefix,
-            prefixComponent
-        );
-        audiences.player(player).sendPlayerListHeaderAndFooter(header, footer);
+    private void queueAdaptiveRefresh(long tick) {
+        boolean pingDue = usesPlaceholder(TablistPlaceholder.PING)
+            && tick - lastPingRefreshTick >= pingRefreshTicks * backoff;
+        if (refreshAllRequested.getAndSet(false) || pingDue) {
+            dirtyPlayers.clear();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                pendingPlayers.add(player.getUniqueId());
+            }
+            lastRefreshTick = tick;
+            lastPingRefreshTick = tick;
+            return;
+        }
+        if (dirtyPlayers.isEmpty()) {
+            return;
+        }
+        Iterator<UUID> dirty = dirtyPlayers.iterator();
+        while (dirty.hasNext()) {
+            pendingPlayers.add(dirty.next());
+            dirty.remove();
+        }
+        lastRefreshTick = tick;
     }
 
-    private void updatePlayerListName(Player player, Component prefixComponent) {
-        Component name = Component.text(player.getName());
-        Component listName;
-        if (prefixComponent == null || prefixComponent.equals(Component.empty())) {
-            listName = name;
-        } else {
-            listName = prefixComponent.append(Component.space()).append(name);
+    private void checkTimeRollover() {
+        if (!usesPlaceholder(TablistPlaceholder.TIME)) {
+            return;
+        }
+        TablistFrame frame = sharedFrame;
+        String time = timeFormatter.format(LocalTime.now());
+        if (frame == null || !frame.values().time().equals(time)) {
+            refreshAllRequested.set(true);
         }
-        player.setPlayerListName(legacySectionSerializer.serialize(listName));
     }
 
-    private Component renderLines(
-        List<String> lines,
-        Player player,
-        String time,
-        String song,
-        String prefix,
-        Component prefixComponent
-    ) {
-        if (lines.isEmpty()) {
-            return Component.empty();
+    private void adjustBackoff() {
+        double mspt = tickTimeMonitor.averageTickMillis();
+        if (mspt > msptThreshold) {
+            backoff = Math.min(maxBackoff, backoff * 2);
+        } else if (backoff > 1) {
+            backoff = Math.max(1, backoff / 2);
         }
-        Component result = Component.empty();
-        boolean first = true;
-        for (String line : lines) {
-            Component rendered = renderLine(line, player, time, song, prefix, prefixComponent);
-            if (!first) {
-                result = result.append(Component.newline());
+    }
+
+    private void onSongChanged() {
+        if (adaptiveRefresh && usesPlaceholder(TablistPlaceholder.SONG)) {
+            refreshAllRequested.set(true);
+        }
+    }
+
+    private boolean usesPlaceholder(TablistPlaceholder placeholder) {
+        return headerTemplate.uses(placeholder) || footerTemplate.uses(placeholder);
+    }
+
+    private void resetAdaptiveState() {
+        adaptiveTick = 0L;
+        lastRefreshTick = 0L;
+        lastPingRefreshTick = 0L;
+        backoff = 1;
+        tickTimeMonitor.reset();
+        dirtyPlayers.clear();
+        refreshAllRequested.set(true);
+    }
+
+    /**
+     * Refreshes queued players in order until the queue is empty or the budget is spent.
+     * The budget only covers the refreshes themselves, and at least one player is refreshed
+     * per call so a budget smaller than a single refresh still drains the queue.
+     */
+    private void drainPending(long budget) {
+        long startNanos = System.nanoTime();
+        TablistFrame frame = currentFrame();
+        boolean async = asyncRender;
+        List<TablistRenderer.PlayerSnapshot> snapshots = async ? new ArrayList<>() : null;
+        Iterator<UUID> pending = pendingPlayers.iterator();
+        boolean refreshed = false;
+        while (pending.hasNext() && !(refreshed && overBudget(startNanos, budget))) {
+            Player player = Bukkit.getPlayer(pending.next());
+            pending.remove();
+            if (player == null) {
+                continue;
+            }
+            refreshed = true;
+            if (async) {
+                snapshots.add(snapshot(player));
             } else {
-                first = false;
+                updatePlayer(player, frame);
             }
-            result = result.append(rendered);
         }
-        return result;
+        if (async && !snapshots.isEmpty()) {
+            dispatchRender(snapshots, frame);
+        }
     }
 
-    private Component renderLine(
-        String template,
-        Player player,
-        String time,
-        String song,
-        String prefix,
-        Component prefixComponent
-    ) {
-        Object prefixValue = MessageTemplate.legacyAwareValue(template, prefix, prefixComponent);
-        return MessageTemplate.render(
-            template,
-            "player", player.getName(),
-            "time", time,
-            "song", song,
-            "ping", Integer.toString(player.getPing()),
-            "prefix", prefixValue
+    private static boolean overBudget(long startNanos, long budgetNanos) {
+        return budgetNanos > 0 && System.nanoTime() - startNanos >= budgetNanos;
+    }
+
+    /**
+     * Returns the header and footer with shared placeholders bound, reusing the previous
+     * frame while the time and song are unchanged.
+     */
+    private TablistFrame currentFrame() {
+        String time = timeFormatter.format(LocalTime.now());
+        String song = radioService != null ? radioService.getLastSongText().orElse("") : "";
+        Map<String, String> stationSongs = radioService != null ? radioService.getStationSongTexts() : Map.of();
+        TablistTemplate header = headerTemplate;
+        TablistTemplate footer = footerTemplate;
+        TablistFrame frame = sharedFrame;
+        if (frame != null && frame.matches(header, footer, time, song, stationSongs)) {
+            return frame;
+        }
+        frame = TablistFrame.bind(header, footer, TablistValues.shared(time, song, stationSongs));
+        sharedFrame = frame;
+        return frame;
+    }
+
+    private TablistRenderer.PlayerSnapshot snapshot(Player player) {
+        return new TablistRenderer.PlayerSnapshot(
+            player.getUniqueId(),
+            player.getName(),
+            player.getPing(),
+            prefixCache.get(player)
         );
     }
 
-    private String getPrefix(Player player) {
-        LuckPerms current = luckPerms;
-        if (current == null) {
-            return "";
+    /**
+     * Renders the snapshots on the worker pool and applies the results on the server thread
+     * in one task. A player's result is dropped if a newer render was requested for them in
+     * the meantime, or if the service was reloaded or stopped.
+     */
+    private void dispatchRender(List<TablistRenderer.PlayerSnapshot> snapshots, TablistFrame frame) {
+        long sequence = ++renderSequence;
+        for (TablistRenderer.PlayerSnapshot snapshot : snapshots) {
+            latestRenderRequests.put(snapshot.playerId(), sequence);
         }
-        User user = current.getUserManager().getUser(player.getUniqueId());
-        if (user == null) {
-            return "";
+        boolean record = metrics.isEnabled();
+        long startNanos = record ? System.nanoTime() : 0L;
+        renderer.renderAsync(snapshots, frame).whenComplete((rendered, error) -> {
+            if (record) {
+                metrics.recordTablistRender(System.nanoTime() - startNanos);
+            }
+            if (error != null) {
+                plugin.getLogger().warning("Tablist render failed: " + error.getMessage());
+                return;
+            }
+            if (!enabled || !plugin.isEnabled()) {
+                return;
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> applyRendered(rendered, sequence));
+        });
+    }
+
+    private void applyRendered(List<TablistRenderer.RenderedTablist> rendered, long sequence) {
+        if (!enabled) {
+            return;
         }
-        String prefix = user.getCachedData().getMetaData().getPrefix();
-        return prefix == null ? "" : prefix;
+        for (TablistRenderer.RenderedTablist result : rendered) {
+            Long latest = latestRenderRequests.get(result.playerId());
+            boolean current = latest != null && latest == sequence;
+            metrics.recordTablistRenderResult(current);
+            if (!current) {
+                continue;
+            }
+            latestRenderRequests.remove(result.playerId());
+            Player player = Bukkit.getPlayer(result.playerId());
+            if (player != null) {
+                apply(player, result);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void updatePlayer(Player player, TablistFrame frame) {
+        apply(player, TablistRenderer.render(snapshot(player), frame));
     }
 
-    private Component parsePrefixComponent(String prefix) {
-        if (prefix == null || prefix.isBlank()) {
-            return Component.empty();
+    private void apply(Player player, TablistRenderer.RenderedTablist rendered) {
+        SentState previous = sentStates.get(player.getUniqueId());
+        boolean sendListName = previous == null || !previous.listName().equals(rendered.listName());
+        boolean sendHeaderFooter = previous == null
+            || !sameComponent(previous.header(), rendered.header())
+            || !sameComponent(previous.footer(), rendered.footer());
+        if (sendListName) {
+            player.setPlayerListName(rendered.listName());
         }
-        return legacySerializer.deserialize(prefix);
+        if (sendHeaderFooter) {
+            audiences.player(player).sendPlayerListHeaderAndFooter(rendered.header(), rendered.footer());
+        }
+        if (sendListName || sendHeaderFooter) {
+            sentStates.put(
+                player.getUniqueId(),
+                new SentState(rendered.header(), rendered.footer(), rendered.listName())
+            );
+        }
+        metrics.recordTablistListName(sendListName);
+        metrics.recordTablistHeaderFooter(sendHeaderFooter);
+    }
+
+    private static boolean sameComponent(Component previous, Component current) {
+        return previous == current || previous.equals(current);
     }
 
     private static DateTimeFormatter buildFormatter(String pattern, String fallback) {
@@ -283,7 +603,7 @@ public final class TablistService {
         if (lines == null || lines.isEmpty()) {
             return List.of(fallback);
         }
-        List<String> filtered = new java.util.ArrayList<>(lines.size());
+        List<String> filtered = new ArrayList<>(lines.size());
         for (String line : lines) {
             if (line == null) {
                 continue;
@@ -298,4 +618,7 @@ public final class TablistService {
         }
         return Collections.unmodifiableList(filtered);
     }
+
+    private record SentState(Component header, Component footer, String listName) {
+    }
 }
@@ -0,0 +1,180 @@
+package net.sanctuary.servers.craftedgateway.tablist;
+
+import net.kyori.adventure.text.Component;
+import net.sanctuary.servers.craftedgateway.text.CompiledTemplate;
+import net.sanctuary.servers.craftedgateway.text.MessageTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A header or footer compiled once per reload.
+ *
+ * <p>Each line is a {@link CompiledTemplate} keyed by the {@link TablistPlaceholder}
+ * ordinals, so rendering a player only substitutes values into already parsed lines.</p>
+ *
+ * <p>{@link #bindShared(TablistValues)} fills the placeholders that are the same for every
+ * player once per update cycle, leaving only the per-player placeholders to render.</p>
+ *
+ * <p>Radio station songs are referenced as {@code {song:<name>}}. The station names a
+ * template mentions are found when it is compiled and appended after the fixed keys; they
+ * are shared placeholders and count as uses of {@link TablistPlaceholder#SONG}.</p>
+ */
+final class TablistTemplate {
+    private static final String[] KEYS = placeholderKeys();
+    private static final String STATION_SONG_PREFIX = "{" + TablistPlaceholder.SONG.key() + ":";
+
+    private final List<CompiledTemplate> lines;
+    private final List<String> stations;
+    private final Component staticComponent;
+    private final Set<TablistPlaceholder> placeholders;
+
+    private TablistTemplate(List<CompiledTemplate> lines, List<String> stations) {
+        this.lines = lines;
+        this.stations = stations;
+        Set<TablistPlaceholder> used = EnumSet.noneOf(TablistPlaceholder.class);
+        for (CompiledTemplate line : lines) {
+            for (int i = 0; i < KEYS.length; i++) {
+                if (line.uses(KEYS[i])) {
+                    used.add(TablistPlaceholder.fromOrdinal(i));
+                }
+            }
+            for (String station : stations) {
+                if (line.uses(stationKey(station))) {
+                    used.add(TablistPlaceholder.SONG);
+                }
+            }
+        }
+        this.placeholders = used;
+        this.staticComponent = used.isEmpty() ? join(lines, stations, null) : null;
+    }
+
+    static TablistTemplate compile(List<String> templates) {
+        List<String> stations = stationNames(templates);
+        String[] keys = Arrays.copyOf(KEYS, KEYS.length + stations.size());
+        for (int i = 0; i < stations.size(); i++) {
+            keys[KEYS.length + i] = stationKey(stations.get(i));
+        }
+        List<CompiledTemplate> lines = new ArrayList<>(templates.size());
+        for (String template : templates) {
+            lines.add(MessageTemplate.compile(template, keys));
+        }
+        return new TablistTemplate(List.copyOf(lines), stations);
+    }
+
+    boolean uses(TablistPlaceholder placeholder) {
+        return placeholders.contains(placeholder);
+    }
+
+    /**
+     * Returns {@code true} when the rendered output is identical for every player.
+     */
+    boolean isShared() {
+        return staticComponent != null;
+    }
+
+    Component render(TablistValues values) {
+        if (staticComponent != null) {
+            return staticComponent;
+        }
+        return join(lines, stations, values);
+    }
+
+    /**
+     * Returns a template with every shared placeholder already substituted.
+     */
+    TablistTemplate bindShared(TablistValues sharedValues) {
+        if (staticComponent != null) {
+            return this;
+        }
+        Map<String, Object> shared = new HashMap<>();
+        for (int i = 0; i < KEYS.length; i++) {
+            TablistPlaceholder placeholder = TablistPlaceholder.fromOrdinal(i);
+            if (!placeholder.isPerPlayer()) {
+                shared.put(KEYS[i], placeholder.legacyValue(sharedValues));
+            }
+        }
+        for (String station : stations) {
+            shared.put(stationKey(station), sharedValues.stationSong(station));
+        }
+        List<CompiledTemplate> bound = new ArrayList<>(lines.size());
+        for (CompiledTemplate line : lines) {
+            bound.add(line.bind(shared));
+        }
+        return new TablistTemplate(bound, stations);
+    }
+
+    private static Component join(List<CompiledTemplate> lines, List<String> stations, TablistValues values) {
+        if (lines.isEmpty()) {
+            return Component.empty();
+        }
+        Component result = Component.empty();
+        boolean first = true;
+        for (CompiledTemplate line : lines) {
+            if (!first) {
+                result = result.append(Component.newline());
+            } else {
+                first = false;
+            }
+            result = result.append(
+                line.isConstant() ? line.render() : line.render(arguments(values, stations, line.isLegacy()))
+            );
+        }
+        return result;
+    }
+
+    private static Object[] arguments(TablistValues values, List<String> stations, boolean legacy) {
+        Object[] arguments = new Object[KEYS.length + stations.size()];
+        for (int i = 0; i < KEYS.length; i++) {
+            arguments[i] = TablistPlaceholder.fromOrdinal(i).templateValue(values, legacy);
+        }
+        for (int i = 0; i < stations.size(); i++) {
+            arguments[KEYS.length + i] = values.stationSong(stations.get(i));
+        }
+        return arguments;
+    }
+
+    private static String stationKey(String station) {
+        return TablistPlaceholder.SONG.key() + ":" + station;
+    }
+
+    /**
+     * Returns the station names referenced by {@code {song:<name>}} in any of the lines, in
+     * order of first use.
+     */
+    private static List<String> stationNames(List<String> templates) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String template : templates) {
+            if (template == null) {
+                continue;
+            }
+            int index = template.indexOf(STATION_SONG_PREFIX);
+            while (index >= 0) {
+                int start = index + STATION_SONG_PREFIX.length();
+                int end = template.indexOf('}', start);
+                if (end < 0) {
+                    break;
+                }
+                if (end > start) {
+                    names.add(template.substring(start, end));
+                }
+                index = template.indexOf(STATION_SONG_PREFIX, end + 1);
+            }
+        }
+        return List.copyOf(names);
+    }
+
+    private static String[] placeholderKeys() {
+        String[] keys = new String[TablistPlaceholder.count()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = TablistPlaceholder.fromOrdinal(i).key();
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,34 @@
+package net.sanctuary.servers.craftedgateway.tablist;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.Map;
+
+/**
+ * Placeholder values used to render the tablist for a single player. {@code stationSongs}
+ * holds the current song of every radio station by name, for {@code {song:<name>}}.
+ */
+record TablistValues(
+    String player,
+    String time,
+    String song,
+    Map<String, String> stationSongs,
+    String ping,
+    String prefix,
+    Component prefixComponent
+) {
+    /**
+     * Creates values holding only the placeholders shared by every player.
+     */
+    static TablistValues shared(String time, String song, Map<String, String> stationSongs) {
+        return new TablistValues(null, time, song, stationSongs, null, null, null);
+    }
+
+    TablistValues withPlayer(String player, String ping, String prefix, Component prefixComponent) {
+        return new TablistValues(player, time, song, stationSongs, ping, prefix, prefixComponent);
+    }
+
+    String stationSong(String station) {
+        return stationSongs == null ? "" : stationSongs.getOrDefault(station, "");
+    }
+}
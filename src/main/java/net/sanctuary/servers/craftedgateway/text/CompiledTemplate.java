@@ -0,0 +1,483 @@
+package net.sanctuary.servers.craftedgateway.text;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A message template parsed once and rendered many times from positional values.
+ *
+ * <p>The legacy or MiniMessage mode and the placeholder positions are resolved when the
+ * template is compiled. MiniMessage templates are parsed a single time with each placeholder
+ * bound to a marker component, a translatable component whose key carries a per-process
+ * nonce, so no text a template or value can contain is mistaken for a placeholder. Rendering
+ * walks the parsed component, including {@code show_text} hover text, and swaps the markers
+ * for the values, so no MiniMessage parsing happens per render. A placeholder that ends up in
+ * a tag argument, such as a click action, cannot be reached that way; those templates are
+ * parsed on every render with real tag resolvers instead. Legacy templates are kept as
+ * literal and placeholder segments.</p>
+ *
+ * <p>Instances are immutable and safe to share between threads.</p>
+ */
+public final class CompiledTemplate {
+    private static final LegacyComponentSerializer LEGACY_SERIALIZER = LegacyComponentSerializer.legacyAmpersand();
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+    private static final String MARKER_KEY_PREFIX = "craftedgateway.slot." + UUID.randomUUID() + ".";
+    private static final String ALIAS_TAG_PREFIX = "cg-slot-";
+    private static final Object UNBOUND = new Object();
+
+    private final String template;
+    private final List<String> keys;
+    private final boolean legacy;
+    private final List<Object> legacySegments;
+    private final Component parsed;
+    private final String source;
+    private final String[] tagNames;
+    private final Object[] boundValues;
+    private final boolean[] usedSlots;
+    private final Component constant;
+
+    private CompiledTemplate(
+        String template,
+        List<String> keys,
+        boolean legacy,
+        List<Object> legacySegments,
+        Component parsed,
+        String source,
+        String[] tagNames,
+        Object[] boundValues
+    ) {
+        this.template = template;
+        this.keys = keys;
+        this.legacy = legacy;
+        this.legacySegments = legacySegments;
+        this.parsed = parsed;
+        this.source = source;
+        this.tagNames = tagNames;
+        this.boundValues = boundValues;
+        this.usedSlots = new boolean[keys.size()];
+        if (legacy) {
+            for (Object segment : legacySegments) {
+                if (segment instanceof Integer slot) {
+                    usedSlots[slot] = true;
+                }
+            }
+        } else if (parsed != null) {
+            int[] counts = new int[keys.size()];
+            countMarkers(parsed, counts);
+            for (int i = 0; i < counts.length; i++) {
+                usedSlots[i] = counts[i] > 0;
+            }
+        } else if (source != null) {
+            for (int i = 0; i < tagNames.length; i++) {
+                usedSlots[i] = tagNames[i] != null
+                    && boundValues[i] == UNBOUND
+                    && countTags(source, tagNames[i]) > 0;
+            }
+        }
+        this.constant = hasSlots(usedSlots) ? null : renderConstant();
+    }
+
+    static CompiledTemplate compile(String template, String... keys) {
+        List<String> keyList = Collections.unmodifiableList(Arrays.asList(keys.clone()));
+        if (template == null) {
+            return new CompiledTemplate(null, keyList, false, null, null, null, null, null);
+        }
+        Map<String, Integer> slots = indexKeys(keys);
+        List<Object> segments = splitSegments(template, slots);
+        if (MessageTemplate.usesLegacyFormat(template)) {
+            return new CompiledTemplate(template, keyList, true, List.copyOf(segments), null, null, null, null);
+        }
+        String[] tagNames = tagNames(keys, slots);
+        String source = miniMessageSource(segments, tagNames);
+        Component parsed = parseWithMarkers(source, tagNames);
+        Object[] unbound = new Object[keys.length];
+        Arrays.fill(unbound, UNBOUND);
+        return new CompiledTemplate(template, keyList, false, null, parsed, source, tagNames, unbound);
+    }
+
+    public String template() {
+        return template;
+    }
+
+    public List<String> keys() {
+        return keys;
+    }
+
+    public int indexOf(String key) {
+        return keys.indexOf(key);
+    }
+
+    public boolean isLegacy() {
+        return legacy;
+    }
+
+    /**
+     * Returns {@code true} when the template still contains the placeholder for {@code key}.
+     */
+    public boolean uses(String key) {
+        int slot = keys.indexOf(key);
+        return slot >= 0 && usedSlots[slot];
+    }
+
+    /**
+     * Returns {@code true} when the template renders the same component for any values.
+     */
+    public boolean isConstant() {
+        return constant != null;
+    }
+
+    /**
+     * Renders the template with one value per key, in the order the keys were compiled.
+     * {@link Component} values are inserted as-is in MiniMessage templates and rejected in
+     * legacy templates; any other value is inserted as unparsed text.
+     */
+    public Component render(Object... values) {
+        if (constant != null) {
+            return constant;
+        }
+        if (values.length != keys.size()) {
+            throw new IllegalArgumentException(
+                "Expected " + keys.size() + " placeholder values but got " + values.length + "."
+            );
+        }
+        if (legacy) {
+            return LEGACY_SERIALIZER.deserialize(concatLegacy(legacySegments, values));
+        }
+        if (parsed != null) {
+            return substitute(parsed, values, null);
+        }
+        return resolve(values);
+    }
+
+    /**
+     * Returns a template with the given placeholders already substituted. Placeholders not in
+     * {@code values} are left for a later {@link #render(Object...)}, which still takes one
+     * value per key.
+     */
+    public CompiledTemplate bind(Map<String, ?> values) {
+        if (constant != null || values.isEmpty()) {
+            return this;
+        }
+        Object[] slotValues = new Object[keys.size()];
+        boolean[] bound = new boolean[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            if (key != null && values.containsKey(key)) {
+                slotValues[i] = values.get(key);
+                bound[i] = true;
+            }
+        }
+        if (legacy) {
+            return new CompiledTemplate(template, keys, true, bindLegacy(slotValues, bound), null, null, null, null);
+        }
+        if (parsed != null) {
+            return new CompiledTemplate(
+                template, keys, false, null, substitute(parsed, slotValues, bound), source, tagNames, boundValues
+            );
+        }
+        Object[] merged = boundValues.clone();
+        for (int i = 0; i < merged.length; i++) {
+            if (bound[i]) {
+                merged[i] = slotValues[i];
+            }
+        }
+        return new CompiledTemplate(template, keys, false, null, null, source, tagNames, merged);
+    }
+
+    private Component renderConstant() {
+        if (template == null) {
+            return Component.empty();
+        }
+        if (legacy) {
+            return LEGACY_SERIALIZER.deserialize(concatLegacy(legacySegments, null));
+        }
+        if (parsed != null) {
+            return parsed;
+        }
+        return resolve(null);
+    }
+
+    /**
+     * Parses the template with real tag resolvers, preferring bound values over
+     * {@code values}. Used when a placeholder sits where markers cannot be swapped.
+     */
+    private Component resolve(Object[] values) {
+        TagResolver.Builder resolver = TagResolver.builder();
+        for (int i = 0; i < tagNames.length; i++) {
+            if (tagNames[i] == null) {
+                continue;
+            }
+            Object value = boundValues[i] != UNBOUND ? boundValues[i] : values == null ? null : values[i];
+            if (value instanceof Component component) {
+                resolver.resolver(Placeholder.component(tagNames[i], component));
+            } else {
+                resolver.resolver(Placeholder.unparsed(tagNames[i], Objects.toString(value, "")));
+            }
+        }
+        return MINI_MESSAGE.deserialize(source, resolver.build());
+    }
+
+    private List<Object> bindLegacy(Object[] values, boolean[] bound) {
+        List<Object> segments = new ArrayList<>(legacySegments.size());
+        StringBuilder literal = new StringBuilder(64);
+        for (Object segment : legacySegments) {
+            if (segment instanceof Integer slot && !bound[slot]) {
+                if (literal.length() > 0) {
+                    segments.add(literal.toString());
+                    literal.setLength(0);
+                }
+                segments.add(slot);
+            } else if (segment instanceof Integer slot) {
+                literal.append(legacyValue(slot, values[slot]));
+            } else {
+                literal.append((String) segment);
+            }
+        }
+        if (literal.length() > 0) {
+            segments.add(literal.toString());
+        }
+        return List.copyOf(segments);
+    }
+
+    private String concatLegacy(List<Object> segments, Object[] values) {
+        StringBuilder builder = new StringBuilder(template.length() + 32);
+        for (Object segment : segments) {
+            if (segment instanceof Integer slot) {
+                builder.append(legacyValue(slot, values[slot]));
+            } else {
+                builder.append((String) segment);
+            }
+        }
+        return builder.toString();
+    }
+
+    private String legacyValue(int slot, Object value) {
+        if (value instanceof Component) {
+            throw new IllegalArgumentException(
+                "Component values are not supported in legacy templates for key '" + keys.get(slot) + "'."
+            );
+        }
+        return Objects.toString(value, "");
+    }
+
+    /**
+     * Replaces markers in {@code node} and its hover text with values. When {@code bound} is
+     * non-null only the flagged slots are replaced and the remaining markers are kept for a
+     * later render.
+     */
+    private Component substitute(Component node, Object[] values, boolean[] bound) {
+        List<Component> children = node.children();
+        List<Component> replacedChildren = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component replaced = substitute(child, values, bound);
+            if (replaced != child) {
+                if (replacedChildren == null) {
+                    replacedChildren = new ArrayList<>(children);
+                }
+                replacedChildren.set(i, replaced);
+            }
+        }
+        Component result = replacedChildren == null ? node : node.children(replacedChildren);
+        Component hoverText = showText(result);
+        if (hoverText != null) {
+            Component replacedHover = substitute(hoverText, values, bound);
+            if (replacedHover != hoverText) {
+                result = result.hoverEvent(HoverEvent.showText(replacedHover));
+            }
+        }
+        int slot = markerSlot(result);
+        if (slot < 0 || slot >= keys.size() || (bound != null && !bound[slot])) {
+            return result;
+        }
+        Component value = componentValue(values[slot]);
+        if (result.style().isEmpty() && result.children().isEmpty()) {
+            return value;
+        }
+        // MiniMessage may have moved the enclosing style onto the marker; keep it as the parent.
+        return Component.text().style(result.style()).append(value).append(result.children()).build();
+    }
+
+    private static Component componentValue(Object value) {
+        if (value instanceof Component component) {
+            return component;
+        }
+        return Component.text(Objects.toString(value, ""));
+    }
+
+    private static Map<String, Integer> indexKeys(String[] keys) {
+        Map<String, Integer> slots = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                slots.putIfAbsent(keys[i], i);
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Splits a template into literal {@link String} and {@link Integer} slot segments.
+     * Unknown {@code {key}} sequences are kept as literal text.
+     */
+    private static List<Object> splitSegments(String template, Map<String, Integer> slots) {
+        List<Object> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(template.length());
+        int index = 0;
+        int length = template.length();
+        while (index < length) {
+            int open = template.indexOf('{', index);
+            if (open < 0) {
+                literal.append(template, index, length);
+                break;
+            }
+            int close = template.indexOf('}', open + 1);
+            if (close < 0) {
+                literal.append(template, index, length);
+                break;
+            }
+            literal.append(template, index, open);
+            Integer slot = slots.get(template.substring(open + 1, close));
+            if (slot == null) {
+                literal.append(template, open, close + 1);
+            } else {
+                if (literal.length() > 0) {
+                    segments.add(literal.toString());
+                    literal.setLength(0);
+                }
+                segments.add(slot);
+            }
+            index = close + 1;
+        }
+        if (literal.length() > 0) {
+            segments.add(literal.toString());
+        }
+        return segments;
+    }
+
+    /**
+     * Returns the tag name each key is resolved under. Keys that are valid tag names keep
+     * their own name, so {@code <key>} works as well as {@code {key}}; other keys get an
+     * internal alias tag. Repeated keys resolve through their first slot.
+     */
+    private static String[] tagNames(String[] keys, Map<String, Integer> slots) {
+        String[] tagNames = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && slots.get(keys[i]) == i) {
+                tagNames[i] = isValidTagName(keys[i]) ? keys[i] : ALIAS_TAG_PREFIX + i;
+            }
+        }
+        return tagNames;
+    }
+
+    private static String miniMessageSource(List<Object> segments, String[] tagNames) {
+        StringBuilder source = new StringBuilder();
+        for (Object segment : segments) {
+            if (segment instanceof Integer slot) {
+                source.append('<').append(tagNames[slot]).append('>');
+            } else {
+                source.append((String) segment);
+            }
+        }
+        return source.toString();
+    }
+
+    /**
+     * Parses the source with every tag resolved to its marker. Returns {@code null} when a
+     * placeholder tag did not come out as a marker in the component or its hover text, which
+     * means it was consumed as a tag argument and has to be resolved on every render.
+     */
+    private static Component parseWithMarkers(String source, String[] tagNames) {
+        TagResolver.Builder resolver = TagResolver.builder();
+        int expected = 0;
+        for (int i = 0; i < tagNames.length; i++) {
+            if (tagNames[i] != null) {
+                resolver.resolver(Placeholder.component(tagNames[i], Component.translatable(MARKER_KEY_PREFIX + i)));
+                expected += countTags(source, tagNames[i]);
+            }
+        }
+        Component parsed = MINI_MESSAGE.deserialize(source, resolver.build());
+        int[] counts = new int[tagNames.length];
+        countMarkers(parsed, counts);
+        int found = 0;
+        for (int count : counts) {
+            found += count;
+        }
+        return found == expected ? parsed : null;
+    }
+
+    private static int countTags(String source, String tagName) {
+        String tag = '<' + tagName + '>';
+        int count = 0;
+        for (int index = source.indexOf(tag); index >= 0; index = source.indexOf(tag, index + tag.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean isValidTagName(String key) {
+        if (key.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int markerSlot(Component node) {
+        if (node instanceof TranslatableComponent translatable && translatable.key().startsWith(MARKER_KEY_PREFIX)) {
+            String key = translatable.key();
+            return Integer.parseInt(key, MARKER_KEY_PREFIX.length(), key.length(), 10);
+        }
+        return -1;
+    }
+
+    private static Component showText(Component node) {
+        HoverEvent<?> hover = node.style().hoverEvent();
+        if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) {
+            return (Component) hover.value();
+        }
+        return null;
+    }
+
+    private static void countMarkers(Component node, int[] counts) {
+        int slot = markerSlot(node);
+        if (slot >= 0 && slot < counts.length) {
+            counts[slot]++;
+        }
+        Component hoverText = showText(node);
+        if (hoverText != null) {
+            countMarkers(hoverText, counts);
+        }
+        for (Component child : node.children()) {
+            countMarkers(child, counts);
+        }
+    }
+
+    private static boolean hasSlots(boolean[] used) {
+        for (boolean slot : used) {
+            if (slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
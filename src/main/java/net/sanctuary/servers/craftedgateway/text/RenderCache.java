@@ -0,0 +1,102 @@
+package net.sanctuary.servers.craftedgateway.text;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded LRU cache of rendered components keyed by template identity and values.
+ *
+ * <p>Components are immutable, so a cached result can be sent any number of times. Templates
+ * are compared by identity: a reload compiles new templates, which never match old entries,
+ * and {@link #clear()} drops those entries right away.</p>
+ */
+public final class RenderCache {
+    private final Object lock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LinkedHashMap<Key, Component> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Component> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private volatile int maxEntries;
+
+    public RenderCache(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+
+    /**
+     * Returns the cached component for these values, rendering and caching it on a miss.
+     * With a maximum size of zero the cache is bypassed.
+     */
+    public Component render(CompiledTemplate template, Object... values) {
+        if (maxEntries <= 0 || template.isConstant()) {
+            return template.render(values);
+        }
+        Key key = new Key(template, Arrays.asList(values.clone()));
+        synchronized (lock) {
+            Component cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        Component rendered = template.render(values);
+        synchronized (lock) {
+            entries.put(key, rendered);
+        }
+        return rendered;
+    }
+
+    /**
+     * Changes the maximum number of entries and drops every cached component.
+     */
+    public void resize(int maxEntries) {
+        synchronized (lock) {
+            this.maxEntries = Math.max(0, maxEntries);
+            entries.clear();
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts since the last call and resets them.
+     */
+    public Stats snapshotAndReset() {
+        return new Stats(hits.sumThenReset(), misses.sumThenReset(), evictions.sumThenReset());
+    }
+
+    public record Stats(long hits, long misses, long evictions) {
+    }
+
+    private record Key(CompiledTemplate template, List<Object> values) {
+    }
+}
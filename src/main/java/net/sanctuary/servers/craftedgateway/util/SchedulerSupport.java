@@ -1,7 +1,7 @@
 package net.sanctuary.servers.craftedgateway.util;
 
 import org.bukkit.Bukkit;
-import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitTask;
 
 public final class SchedulerSupport {
@@ -20,7 +20,7 @@ public final class SchedulerSupport {
     }
 
     public static BukkitTask rescheduleRepeating(
-        JavaPlugin plugin,
+        Plugin plugin,
         BukkitTask current,
         Runnable action,
         long delayTicks,
@@ -31,7 +31,7 @@ public final class SchedulerSupport {
     }
 
     public static BukkitTask rescheduleRepeatingIfEnabled(
-        JavaPlugin plugin,
+        Plugin plugin,
         BukkitTask current,
         Runnable action,
         long delayTicks,
@@ -45,7 +45,7 @@ public final class SchedulerSupport {
     }
 
     public static BukkitTask rescheduleAsyncLater(
-        JavaPlugin plugin,
+        Plugin plugin,
         BukkitTask current,
         Runnable action,
         long delayTicks
@@ -55,7 +55,7 @@ public final class SchedulerSupport {
     }
 
     public static BukkitTask rescheduleAsyncLaterIfEnabled(
-        JavaPlugin plugin,
+        Plugin plugin,
         BukkitTask current,
         Runnable action,
         long delayTicks,
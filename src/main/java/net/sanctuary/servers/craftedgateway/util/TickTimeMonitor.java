@@ -0,0 +1,62 @@
+package net.sanctuary.servers.craftedgateway.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Estimates the server's milliseconds per tick.
+ *
+ * <p>Uses {@code Server#getAverageTickTime()} when the server provides it (Paper and forks).
+ * On plain Spigot it falls back to a smoothed interval between calls to {@link #onTick()},
+ * which must then be called once per tick; that estimate never drops below 50ms, so only
+ * lag above 50ms is visible.</p>
+ */
+public final class TickTimeMonitor {
+    private static final double TICK_MILLIS = 50.0;
+    private static final double SMOOTHING = 0.1;
+    private static final MethodHandle AVERAGE_TICK_TIME = findAverageTickTime();
+
+    private long lastTickNanos;
+    private double smoothedMillis = TICK_MILLIS;
+
+    public void onTick() {
+        long now = System.nanoTime();
+        if (lastTickNanos != 0L) {
+            double intervalMillis = (now - lastTickNanos) / 1_000_000.0;
+            smoothedMillis += (intervalMillis - smoothedMillis) * SMOOTHING;
+        }
+        lastTickNanos = now;
+    }
+
+    public void reset() {
+        lastTickNanos = 0L;
+        smoothedMillis = TICK_MILLIS;
+    }
+
+    public double averageTickMillis() {
+        if (AVERAGE_TICK_TIME != null) {
+            try {
+                return (double) AVERAGE_TICK_TIME.invoke(Bukkit.getServer());
+            } catch (Throwable ignored) {
+                // Fall back to the measured tick interval.
+            }
+        }
+        return smoothedMillis;
+    }
+
+    private static MethodHandle findAverageTickTime() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(
+                Server.class,
+                "getAverageTickTime",
+                MethodType.methodType(double.class)
+            );
+        } catch (NoSuchMethodException | IllegalAccessException ignored) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package net.sanctuary.servers.craftedgateway.votd;
+
+import java.time.LocalDate;
+
+/**
+ * A fetched verse with what it was fetched for. {@code bibleVersion} is the configured
+ * version, and {@code date} the day it was the verse of the day ({@code null} for random
+ * verses). Held as one immutable value so a refresh swaps all three at once.
+ */
+record CachedVerse(LocalDate date, String bibleVersion, VotdEntry entry) {
+}
@@ -0,0 +1,158 @@
+package net.sanctuary.servers.craftedgateway.votd;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A bounded ring buffer of prefetched random verses for scheduled announcements.
+ *
+ * <p>{@link #poll()} takes the oldest verse in constant time. Verses are identified by their
+ * reference, and a verse already pooled or among the last {@code dedupeWindow} announced is
+ * refused, so announcements do not repeat within the window. Refills are tagged with a
+ * generation so that verses fetched before {@link #clear()} are dropped.</p>
+ */
+final class RandomVersePool {
+    private final Object lock = new Object();
+    private final Set<String> pooledKeys = new HashSet<>();
+    private final ArrayDeque<String> recent = new ArrayDeque<>();
+    private final Set<String> recentKeys = new HashSet<>();
+
+    private VotdEntry[] ring = new VotdEntry[0];
+    private int head;
+    private int size;
+    private int lowWater;
+    private int dedupeWindow;
+    private long generation;
+    private boolean refilling;
+
+    /**
+     * Applies new limits. Changing the capacity empties the pool.
+     */
+    void configure(int capacity, int lowWater, int dedupeWindow) {
+        synchronized (lock) {
+            int boundedCapacity = Math.max(0, capacity);
+            if (boundedCapacity != ring.length) {
+                ring = new VotdEntry[boundedCapacity];
+                clearPool();
+            }
+            this.lowWater = Math.max(0, Math.min(lowWater, boundedCapacity));
+            this.dedupeWindow = Math.max(0, dedupeWindow);
+            while (recent.size() > this.dedupeWindow) {
+                recentKeys.remove(recent.removeFirst());
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest pooled verse and records it as announced, or returns {@code null}
+     * when the pool is empty.
+     */
+    VotdEntry poll() {
+        synchronized (lock) {
+            if (size == 0) {
+                return null;
+            }
+            VotdEntry verse = ring[head];
+            ring[head] = null;
+            head = (head + 1) % ring.length;
+            size--;
+            String key = keyOf(verse);
+            pooledKeys.remove(key);
+            remember(key);
+            return verse;
+        }
+    }
+
+    /**
+     * Adds a fetched verse unless the pool is full, the verse is a duplicate or the refill
+     * that fetched it belongs to an earlier generation. Returns {@code true} when added.
+     */
+    boolean offer(VotdEntry verse, long refillGeneration) {
+        synchronized (lock) {
+            if (refillGeneration != generation || size == ring.length) {
+                return false;
+            }
+            String key = keyOf(verse);
+            if (recentKeys.contains(key) || !pooledKeys.add(key)) {
+                return false;
+            }
+            ring[(head + size) % ring.length] = verse;
+            size++;
+            return true;
+        }
+    }
+
+    /**
+     * Returns how many verses are missing for a refill of this generation, or {@code 0} once
+     * the pool is full or was cleared.
+     */
+    int missing(long refillGeneration) {
+        synchronized (lock) {
+            return refillGeneration == generation ? ring.length - size : 0;
+        }
+    }
+
+    int capacity() {
+        synchronized (lock) {
+            return ring.length;
+        }
+    }
+
+    /**
+     * Starts a refill when the pool is at or below the low-water mark and none is running.
+     * Returns the refill's generation, or {@code -1} when no refill is needed.
+     */
+    long beginRefill() {
+        synchronized (lock) {
+            if (refilling || ring.length == 0 || size > lowWater) {
+                return -1L;
+            }
+            refilling = true;
+            return generation;
+        }
+    }
+
+    void endRefill(long refillGeneration) {
+        synchronized (lock) {
+            if (refillGeneration == generation) {
+                refilling = false;
+            }
+        }
+    }
+
+    /**
+     * Empties the pool and the dedupe window, and orphans any running refill.
+     */
+    void clear() {
+        synchronized (lock) {
+            clearPool();
+            recent.clear();
+            recentKeys.clear();
+        }
+    }
+
+    private void clearPool() {
+        Arrays.fill(ring, null);
+        head = 0;
+        size = 0;
+        pooledKeys.clear();
+        generation++;
+        refilling = false;
+    }
+
+    private void remember(String key) {
+        if (dedupeWindow == 0 || !recentKeys.add(key)) {
+            return;
+        }
+        recent.addLast(key);
+        if (recent.size() > dedupeWindow) {
+            recentKeys.remove(recent.removeFirst());
+        }
+    }
+
+    private static String keyOf(VotdEntry verse) {
+        return verse.reference();
+    }
+}
@@ -0,0 +1,48 @@
+package net.sanctuary.servers.craftedgateway.votd;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one fetch per key at a time. Callers asking for a key whose fetch is still
+ * running get the same future instead of starting another; the key is free again as soon as
+ * the fetch completes.
+ */
+final class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inflight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the running fetch for {@code key}, or starts one with {@code fetch}.
+     */
+    CompletableFuture<V> run(K key, Supplier<? extends CompletionStage<V>> fetch) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> running = inflight.putIfAbsent(key, pending);
+        if (running != null) {
+            return running;
+        }
+        CompletionStage<V> stage;
+        try {
+            stage = fetch.get();
+        } catch (RuntimeException e) {
+            inflight.remove(key, pending);
+            pending.completeExceptionally(e);
+            return pending;
+        }
+        stage.whenComplete((value, error) -> {
+            inflight.remove(key, pending);
+            if (error != null) {
+                pending.completeExceptionally(error);
+            } else {
+                pending.complete(value);
+            }
+        });
+        return pending;
+    }
+
+    void clear() {
+        inflight.clear();
+    }
+}
@@ -0,0 +1,110 @@
+package net.sanctuary.servers.craftedgateway.votd;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded LRU cache of daily verses keyed by date and Bible version.
+ *
+ * <p>Players may read in different versions, so each version keeps its own verse of the day.
+ * Looking a version up refreshes its entry, so versions nobody has asked for recently are the
+ * first to go once the cache is full. A version's previous day stays cached until it is
+ * evicted, which lets it be served while the new day's verse is fetched.</p>
+ */
+final class VerseCache {
+    private final Object lock = new Object();
+    private final LinkedHashMap<Key, CachedVerse> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, CachedVerse> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private int maxEntries;
+
+    VerseCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Returns the most recent verse cached for a version, or {@code null} when there is none.
+     */
+    CachedVerse latest(String version) {
+        synchronized (lock) {
+            Key newest = null;
+            for (Key key : entries.keySet()) {
+                if (key.version().equals(version) && (newest == null || key.date().isAfter(newest.date()))) {
+                    newest = key;
+                }
+            }
+            return newest == null ? null : entries.get(newest);
+        }
+    }
+
+    void put(CachedVerse verse) {
+        synchronized (lock) {
+            entries.put(new Key(verse.date(), verse.bibleVersion()), verse);
+        }
+    }
+
+    /**
+     * Returns the most recent verse of every cached version, least recently used first.
+     */
+    List<CachedVerse> latestPerVersion() {
+        synchronized (lock) {
+            Map<String, CachedVerse> newest = new HashMap<>();
+            for (CachedVerse verse : entries.values()) {
+                newest.merge(
+                    verse.bibleVersion(),
+                    verse,
+                    (current, candidate) -> candidate.date().isAfter(current.date()) ? candidate : current
+                );
+            }
+            List<CachedVerse> result = new ArrayList<>();
+            for (CachedVerse verse : entries.values()) {
+                if (newest.get(verse.bibleVersion()) == verse) {
+                    result.add(verse);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Changes the maximum number of entries, evicting the least recently used ones that no
+     * longer fit.
+     */
+    void resize(int maxEntries) {
+        synchronized (lock) {
+            this.maxEntries = Math.max(1, maxEntries);
+            Iterator<Key> iterator = entries.keySet().iterator();
+            while (entries.size() > this.maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        synchronized (lock) {
+            return entries.isEmpty();
+        }
+    }
+
+    void clear() {
+        synchronized (lock) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Identifies one day's verse in one version.
+     */
+    record Key(LocalDate date, String version) {
+    }
+}
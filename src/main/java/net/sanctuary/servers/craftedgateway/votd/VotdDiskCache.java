@@ -0,0 +1,239 @@
+package net.sanctuary.servers.craftedgateway.votd;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import net.sanctuary.servers.craftedgateway.CraftedGatewayPlugin;
+import org.bukkit.Bukkit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the last fetched daily verse of each cached Bible version and the last random verse
+ * in a small JSON file in the plugin data folder, so that a restart can serve them before
+ * the API has answered.
+ *
+ * <p>Writes run on an async task and always write the latest state, so a burst of fetches
+ * costs at most one extra write. Writes are serialized and each takes its snapshot once the
+ * previous one has finished, so an older state never lands on disk after a newer one. The
+ * file is written to a temporary sibling and moved over the old one, so a crash mid-write
+ * never leaves a truncated cache behind.</p>
+ */
+final class VotdDiskCache {
+    private static final String FILE_NAME = "votd-cache.json";
+    private static final String DAILY = "daily";
+    private static final String RANDOM = "random";
+
+    private final Path file;
+    private final Logger logger;
+    private final Executor asyncWriter;
+    private final Object writeLock = new Object();
+    private final Object ioLock = new Object();
+
+    private Snapshot state = new Snapshot(List.of(), null);
+    private boolean dirty;
+    private boolean writeQueued;
+
+    VotdDiskCache(CraftedGatewayPlugin plugin) {
+        this(
+            plugin.getDataFolder().toPath(),
+            plugin.getLogger(),
+            task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task)
+        );
+    }
+
+    /**
+     * Creates a cache stored in {@code folder} whose writes run on {@code asyncWriter}.
+     */
+    VotdDiskCache(Path folder, Logger logger, Executor asyncWriter) {
+        this.file = folder.resolve(FILE_NAME);
+        this.logger = logger;
+        this.asyncWriter = asyncWriter;
+    }
+
+    /**
+     * Reads the cache file, returning an empty snapshot when it is missing or unreadable.
+     */
+    Snapshot load() {
+        Snapshot loaded = new Snapshot(List.of(), null);
+        if (Files.isRegularFile(file)) {
+            try {
+                JsonObject root = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8))
+                    .getAsJsonObject();
+                loaded = new Snapshot(readDaily(root.get(DAILY)), readVerse(root.get(RANDOM)));
+            } catch (IOException | JsonParseException | IllegalStateException e) {
+                logger.log(Level.WARNING, "Ignoring unreadable VOTD cache " + file + ".", e);
+            }
+        }
+        synchronized (writeLock) {
+            state = loaded;
+        }
+        return loaded;
+    }
+
+    /**
+     * Replaces the persisted daily verses with the given ones.
+     */
+    void saveDaily(List<CachedVerse> verses) {
+        synchronized (writeLock) {
+            state = new Snapshot(List.copyOf(verses), state.random());
+        }
+        queueWrite();
+    }
+
+    void saveRandom(CachedVerse verse) {
+        synchronized (writeLock) {
+            state = new Snapshot(state.daily(), verse);
+        }
+        queueWrite();
+    }
+
+    /**
+     * Writes any change not yet on disk. Called on the calling thread during shutdown, when
+     * async tasks no longer run.
+     */
+    void flush() {
+        synchronized (ioLock) {
+            Snapshot snapshot;
+            synchronized (writeLock) {
+                writeQueued = false;
+                if (!dirty) {
+                    return;
+                }
+                dirty = false;
+                snapshot = state;
+            }
+            try {
+                write(snapshot);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to write VOTD cache " + file + ".", e);
+            }
+        }
+    }
+
+    private void queueWrite() {
+        synchronized (writeLock) {
+            dirty = true;
+            if (writeQueued) {
+                return;
+            }
+            writeQueued = true;
+        }
+        try {
+            asyncWriter.execute(this::flush);
+        } catch (IllegalStateException e) {
+            // The plugin is disabling; flush() on stop writes the change.
+            synchronized (writeLock) {
+                writeQueued = false;
+            }
+        }
+    }
+
+    private void write(Snapshot snapshot) throws IOException {
+        JsonObject root = new JsonObject();
+        if (!snapshot.daily().isEmpty()) {
+            JsonArray daily = new JsonArray();
+            for (CachedVerse verse : snapshot.daily()) {
+                daily.add(toJson(verse));
+            }
+            root.add(DAILY, daily);
+        }
+        if (snapshot.random() != null) {
+            root.add(RANDOM, toJson(snapshot.random()));
+        }
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+        try {
+            Files.writeString(temp, root.toString(), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static JsonObject toJson(CachedVerse verse) {
+        JsonObject object = new JsonObject();
+        if (verse.date() != null) {
+            object.addProperty("date", verse.date().toString());
+        }
+        object.addProperty("bible-version", verse.bibleVersion());
+        object.addProperty("reference", verse.entry().reference());
+        object.addProperty("text", verse.entry().text());
+        object.addProperty("version", verse.entry().version());
+        return object;
+    }
+
+    /**
+     * Reads the daily verses, which older versions of the plugin stored as a single object.
+     */
+    private static List<CachedVerse> readDaily(JsonElement element) {
+        List<CachedVerse> verses = new ArrayList<>();
+        if (element != null && element.isJsonArray()) {
+            for (JsonElement item : element.getAsJsonArray()) {
+                CachedVerse verse = readVerse(item);
+                if (verse != null) {
+                    verses.add(verse);
+                }
+            }
+        } else {
+            CachedVerse verse = readVerse(element);
+            if (verse != null) {
+                verses.add(verse);
+            }
+        }
+        return verses;
+    }
+
+    private static CachedVerse readVerse(JsonElement element) {
+        if (element == null || !element.isJsonObject()) {
+            return null;
+        }
+        JsonObject object = element.getAsJsonObject();
+        String bibleVersion = getString(object, "bible-version");
+        String reference = getString(object, "reference");
+        String text = getString(object, "text");
+        String version = getString(object, "version");
+        if (bibleVersion == null || reference == null || text == null || version == null) {
+            return null;
+        }
+        LocalDate date = null;
+        String rawDate = getString(object, "date");
+        if (rawDate != null) {
+            try {
+                date = LocalDate.parse(rawDate);
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+        return new CachedVerse(date, bibleVersion, new VotdEntry(reference, text, version));
+    }
+
+    private static String getString(JsonObject object, String key) {
+        JsonElement element = object.get(key);
+        if (element == null || !element.isJsonPrimitive()) {
+            return null;
+        }
+        return element.getAsString();
+    }
+
+    record Snapshot(List<CachedVerse> daily, CachedVerse random) {
+    }
+}
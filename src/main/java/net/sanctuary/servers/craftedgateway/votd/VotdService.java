@@ -1,5 +1,6 @@
 package net.sanctuary.servers.craftedgateway.votd;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
@@ -9,24 +10,44 @@ import net.sanctuary.servers.craftedgateway.CraftedGatewayPlugin;
 import net.sanctuary.servers.craftedgateway.config.ConfigKeys;
 import net.sanctuary.servers.craftedgateway.config.ConfigUtils;
 import net.sanctuary.servers.craftedgateway.metrics.MetricsService;
+import net.sanctuary.servers.craftedgateway.text.CompiledTemplate;
 import net.sanctuary.servers.craftedgateway.text.MessageTemplate;
 import net.sanctuary.servers.craftedgateway.util.SchedulerSupport;
 import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 public final class VotdService {
@@ -38,18 +59,32 @@ public final class VotdService {
     private static final String DEFAULT_RANDOM_ANNOUNCEMENT_FORMAT = "&6[Verse] &e{reference} ({version}) &f{text}";
     private static final boolean DEFAULT_DEBUG_LOGGING = false;
     private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_DEADLINE = Duration.ofSeconds(15);
+    private static final int HTTP_THREADS = 2;
+    private static final long ROLLOVER_DELAY_SECONDS = 5L;
+    private static final long REFRESH_RETRY_MILLIS = 60_000L;
+    private static final int DEFAULT_RANDOM_POOL_SIZE = 8;
+    private static final int DEFAULT_RANDOM_POOL_LOW_WATER = 2;
+    private static final int DEFAULT_RANDOM_DEDUPE_WINDOW = 5;
+    private static final int DEFAULT_CACHE_MAX_ENTRIES = 16;
+    private static final List<String> DEFAULT_AVAILABLE_VERSIONS = List.of("KJV", "ESV", "NIV", "WEB");
 
     private final CraftedGatewayPlugin plugin;
     private final BukkitAudiences audiences;
+    private final ExecutorService httpExecutor;
+    private final ScheduledExecutorService rolloverExecutor;
     private final HttpClient httpClient;
-    private final Object fetchLock = new Object();
+    private final Set<CompletableFuture<?>> inflightRequests = ConcurrentHashMap.newKeySet();
     private final Object randomFetchLock = new Object();
+    private final Object rolloverLock = new Object();
     private final MetricsService metrics;
+    private final VotdDiskCache diskCache;
+    private final RandomVersePool randomPool = new RandomVersePool();
+    private final VerseCache verseCache = new VerseCache(DEFAULT_CACHE_MAX_ENTRIES);
+    private final SingleFlight<VerseCache.Key, VotdEntry> dailyFetches = new SingleFlight<>();
+    private final Map<String, Long> lastFailedFetchMillis = new ConcurrentHashMap<>();
+    private final NamespacedKey playerVersionKey;
 
-    private volatile VotdEntry cachedVerse;
-    private volatile LocalDate cachedDate;
-    private volatile String cachedVersion;
-    private volatile CompletableFuture<VotdEntry> inflightFetch;
     private volatile VotdEntry cachedRandomVerse;
     private volatile CompletableFuture<VotdEntry> inflightRandomFetch;
 
@@ -58,12 +93,16 @@ public final class VotdService {
     private volatile boolean debugLogging;
     private volatile boolean joinEnabled;
     private volatile String bibleVersion;
+    private volatile List<String> availableVersions = DEFAULT_AVAILABLE_VERSIONS;
+    private volatile ZoneId zone = ZoneId.systemDefault();
     private volatile String apiUrlTemplate;
     private volatile String randomApiUrlTemplate;
-    private volatile String messageFormat;
-    private volatile String joinFormat;
-    private volatile String randomAnnouncementFormat;
+    private volatile CompiledTemplate messageTemplate;
+    private volatile CompiledTemplate joinTemplate;
+    private volatile CompiledTemplate randomAnnouncementTemplate;
     private BukkitTask announcementTask;
+    private ScheduledFuture<?> rolloverTask;
+    private LocalDate rolloverDate;
 
     public VotdService(
         CraftedGatewayPlugin plugin,
@@ -73,35 +112,80 @@ public final class VotdService {
         this.plugin = plugin;
         this.audiences = audiences;
         this.metrics = Objects.requireNonNull(metrics, "metrics must not be null");
+        this.diskCache = new VotdDiskCache(plugin);
+        this.playerVersionKey = new NamespacedKey(plugin, "votd_version");
+        this.httpExecutor = Executors.newFixedThreadPool(HTTP_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "CraftedGateway-VOTD-HTTP");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rolloverExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CraftedGateway-VOTD-Rollover");
+            thread.setDaemon(true);
+            return thread;
+        });
         this.httpClient = HttpClient.newBuilder()
             .connectTimeout(HTTP_TIMEOUT)
+            .executor(httpExecutor)
             .build();
         this.bibleVersion = DEFAULT_VERSION;
         this.apiUrlTemplate = DEFAULT_API_URL;
         this.randomApiUrlTemplate = DEFAULT_RANDOM_API_URL;
-        this.cachedVersion = DEFAULT_VERSION;
-        this.messageFormat = DEFAULT_MESSAGE_FORMAT;
-        this.joinFormat = DEFAULT_JOIN_FORMAT;
-        this.randomAnnouncementFormat = DEFAULT_RANDOM_ANNOUNCEMENT_FORMAT;
+        this.messageTemplate = compileFormat(DEFAULT_MESSAGE_FORMAT);
+        this.joinTemplate = compileFormat(DEFAULT_JOIN_FORMAT);
+        this.randomAnnouncementTemplate = compileFormat(DEFAULT_RANDOM_ANNOUNCEMENT_FORMAT);
     }
 
     public void start() {
         reload();
+        restorePersistedVerses();
     }
 
     public void stop() {
         cancelAnnouncements();
-        cachedVerse = null;
-        cachedDate = null;
-        cachedVersion = null;
-        inflightFetch = null;
+        cancelRollover();
+        cancelRequests();
+        httpExecutor.shutdownNow();
+        rolloverExecutor.shutdownNow();
+        diskCache.flush();
+        verseCache.clear();
+        dailyFetches.clear();
+        lastFailedFetchMillis.clear();
         cachedRandomVerse = null;
         inflightRandomFetch = null;
+        randomPool.clear();
     }
 
     public void reload() {
         reloadFromConfig();
         scheduleAnnouncements();
+        scheduleRollover();
+        if (announcementEnabled) {
+            refillRandomPool();
+        }
+    }
+
+    /**
+     * Seeds the in-memory cache from the verses persisted before the last shutdown, so today's
+     * verse is served without waiting on the API, and prefetches the default version's in the
+     * background when the persisted one is missing or out of date.
+     */
+    private void restorePersistedVerses() {
+        VotdDiskCache.Snapshot snapshot = diskCache.load();
+        for (CachedVerse daily : snapshot.daily()) {
+            if (daily.date() != null && matchVersion(daily.bibleVersion()) != null) {
+                verseCache.put(daily);
+            }
+        }
+        CachedVerse random = snapshot.random();
+        if (cachedRandomVerse == null && random != null && Objects.equals(random.bibleVersion(), bibleVersion)) {
+            cachedRandomVerse = random.entry();
+        }
+        String version = bibleVersion;
+        CachedVerse restored = verseCache.latest(version);
+        if (restored == null || !LocalDate.now(zone).equals(restored.date())) {
+            refreshVerse(version);
+        }
     }
 
     public void reloadFromConfig() {
@@ -122,20 +206,33 @@ public final class VotdService {
             DEFAULT_RANDOM_API_URL
         );
         boolean versionChanged = !Objects.equals(bibleVersion, trimmedVersion);
+        boolean apiUrlChanged = !Objects.equals(apiUrlTemplate, trimmedTemplate);
+        boolean randomApiUrlChanged = !Objects.equals(randomApiUrlTemplate, trimmedRandomTemplate);
+        if (apiUrlChanged || randomApiUrlChanged) {
+            cancelRequests();
+        }
 
-        if (versionChanged || !Objects.equals(apiUrlTemplate, trimmedTemplate)) {
-            cachedVerse = null;
-            cachedDate = null;
+        // Daily verses are cached per version, so a new default version keeps them.
+        if (apiUrlChanged) {
+            verseCache.clear();
+            lastFailedFetchMillis.clear();
         }
-        if (versionChanged || !Objects.equals(randomApiUrlTemplate, trimmedRandomTemplate)) {
+        verseCache.resize(config.getInt(ConfigKeys.Votd.CACHE_MAX_ENTRIES, DEFAULT_CACHE_MAX_ENTRIES));
+        if (versionChanged || randomApiUrlChanged) {
             cachedRandomVerse = null;
+            randomPool.clear();
         }
+        randomPool.configure(
+            config.getInt(ConfigKeys.Votd.RANDOM_POOL_SIZE, DEFAULT_RANDOM_POOL_SIZE),
+            config.getInt(ConfigKeys.Votd.RANDOM_POOL_LOW_WATER, DEFAULT_RANDOM_POOL_LOW_WATER),
+            config.getInt(ConfigKeys.Votd.RANDOM_DEDUPE_WINDOW, DEFAULT_RANDOM_DEDUPE_WINDOW)
+        );
 
-        messageFormat = ConfigUtils.getNormalizedStringFromDefaults(
+        messageTemplate = compileFormat(ConfigUtils.getNormalizedStringFromDefaults(
             config,
             ConfigKeys.Votd.MESSAGE_FORMAT,
             DEFAULT_MESSAGE_FORMAT
-        );
+        ));
         debugLogging = config.getBoolean(
             ConfigKeys.Votd.DEBUG_LOGGING,
             ConfigUtils.getDefaultBoolean(
@@ -145,27 +242,31 @@ public final class VotdService {
             )
         );
         joinEnabled = config.getBoolean(ConfigKeys.Votd.JOIN_ENABLED, true);
-        joinFormat = ConfigUtils.getNormalizedStringFromDefaults(
+        joinTemplate = compileFormat(ConfigUtils.getNormalizedStringFromDefaults(
             config,
             ConfigKeys.Votd.JOIN_FORMAT,
             DEFAULT_JOIN_FORMAT
-        );
+        ));
         String defaultRandomAnnouncement = ConfigUtils.getDefaultString(
             config,
             ConfigKeys.Votd.RANDOM_ANNOUNCEMENT_FORMAT,
             DEFAULT_RANDOM_ANNOUNCEMENT_FORMAT
         );
-        randomAnnouncementFormat = ConfigUtils.getNormalizedStringWithFallbackKey(
+        randomAnnouncementTemplate = compileFormat(ConfigUtils.getNormalizedStringWithFallbackKey(
             config,
             ConfigKeys.Votd.RANDOM_ANNOUNCEMENT_FORMAT,
             ConfigKeys.Votd.ANNOUNCEMENT_FORMAT,
             defaultRandomAnnouncement
-        );
+        ));
 
         bibleVersion = trimmedVersion;
+        availableVersions = resolveAvailableVersions(
+            trimmedVersion,
+            config.getStringList(ConfigKeys.Votd.AVAILABLE_VERSIONS)
+        );
         apiUrlTemplate = trimmedTemplate;
         randomApiUrlTemplate = trimmedRandomTemplate;
-        cachedVersion = trimmedVersion;
+        zone = resolveZone(ConfigUtils.getNormalizedOptional(config, ConfigKeys.Votd.TIME_ZONE));
 
         int intervalMinutes = config.getInt(ConfigKeys.Votd.ANNOUNCEMENT_INTERVAL_MINUTES, 10);
         boolean enabled = config.getBoolean(ConfigKeys.Votd.ANNOUNCEMENT_ENABLED, true);
@@ -174,18 +275,87 @@ public final class VotdService {
     }
 
     public void sendVerse(CommandSender sender) {
-        sendVerse(sender, messageFormat, "command invocation", debugLogging);
+        sendVerse(sender, messageTemplate, "command invocation", debugLogging);
     }
 
     public void sendJoinVerse(CommandSender sender) {
         if (!joinEnabled) {
             return;
         }
-        sendVerse(sender, joinFormat, "player join", debugLogging);
+        sendVerse(sender, joinTemplate, "player join", debugLogging);
+    }
+
+    public String getDefaultVersion() {
+        return bibleVersion;
+    }
+
+    /**
+     * Returns the versions players may choose from, the default version first.
+     */
+    public List<String> getAvailableVersions() {
+        return availableVersions;
+    }
+
+    /**
+     * Returns the version a player chose, or {@code null} when they read the default version
+     * or their choice is no longer available. Must be called on the main thread.
+     */
+    public String getPlayerVersion(Player player) {
+        String stored = player.getPersistentDataContainer().get(playerVersionKey, PersistentDataType.STRING);
+        return stored == null ? null : matchVersion(stored);
+    }
+
+    /**
+     * Stores a player's version in their persistent data, or clears it when {@code version}
+     * is {@code null}. Returns {@code false} when the version is not available. Must be called
+     * on the main thread.
+     */
+    public boolean setPlayerVersion(Player player, String version) {
+        if (version == null) {
+            player.getPersistentDataContainer().remove(playerVersionKey);
+            return true;
+        }
+        String matched = matchVersion(version);
+        if (matched == null) {
+            return false;
+        }
+        player.getPersistentDataContainer().set(playerVersionKey, PersistentDataType.STRING, matched);
+        return true;
+    }
+
+    private String resolveVersion(CommandSender sender) {
+        if (sender instanceof Player player) {
+            String chosen = getPlayerVersion(player);
+            if (chosen != null) {
+                return chosen;
+            }
+        }
+        return bibleVersion;
+    }
+
+    private String matchVersion(String version) {
+        for (String available : availableVersions) {
+            if (available.equalsIgnoreCase(version)) {
+                return available;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> resolveAvailableVersions(String defaultVersion, List<String> configured) {
+        List<String> versions = new ArrayList<>();
+        versions.add(defaultVersion);
+        for (String raw : configured) {
+            String version = ConfigUtils.normalizeOptional(raw);
+            if (version != null && versions.stream().noneMatch(version::equalsIgnoreCase)) {
+                versions.add(version);
+            }
+        }
+        return List.copyOf(versions);
     }
 
-    private void sendVerse(CommandSender sender, String template, String context, boolean logFailure) {
-        getVerseAsync().whenComplete((verse, error) -> {
+    private void sendVerse(CommandSender sender, CompiledTemplate template, String context, boolean logFailure) {
+        getVerseAsync(resolveVersion(sender)).whenComplete((verse, error) -> {
             Bukkit.getScheduler().runTask(plugin, () -> {
                 if (error != null || verse == null) {
                     if (logFailure && error != null) {
@@ -221,61 +391,185 @@ public final class VotdService {
         announcementTask = SchedulerSupport.cancelAndClearTask(announcementTask);
     }
 
+    /**
+     * Schedules a refresh of every cached version just after the next midnight in
+     * {@code votd.time-zone}. The daily API has no date parameter, so the new verses cannot be
+     * fetched ahead of time; until they arrive the previous ones keep being served.
+     *
+     * <p>The delay runs on a wall-clock timer rather than the Bukkit scheduler, whose ticks
+     * stretch while the server lags and would push the rollover past midnight.</p>
+     */
+    private void scheduleRollover() {
+        scheduleRollover(LocalDate.now(zone).plusDays(1));
+    }
+
+    private void scheduleRollover(LocalDate date) {
+        ZonedDateTime next = date.atStartOfDay(zone).plusSeconds(ROLLOVER_DELAY_SECONDS);
+        long delayMillis = Math.max(1L, Duration.between(ZonedDateTime.now(zone), next).toMillis());
+        synchronized (rolloverLock) {
+            cancelRolloverTask();
+            if (rolloverExecutor.isShutdown()) {
+                return;
+            }
+            rolloverDate = date;
+            rolloverTask = rolloverExecutor.schedule(this::rollover, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rollover() {
+        synchronized (rolloverLock) {
+            rolloverTask = null;
+            // The timer counts elapsed time, so a system clock set back can fire it early.
+            if (LocalDate.now(zone).isBefore(rolloverDate)) {
+                scheduleRollover(rolloverDate);
+                return;
+            }
+        }
+        String defaultVersion = bibleVersion;
+        refreshVerse(defaultVersion);
+        for (CachedVerse cached : verseCache.latestPerVersion()) {
+            String version = cached.bibleVersion();
+            if (!version.equals(defaultVersion) && matchVersion(version) != null) {
+                refreshVerse(version);
+            }
+        }
+        scheduleRollover();
+    }
+
+    private void cancelRollover() {
+        synchronized (rolloverLock) {
+            cancelRolloverTask();
+        }
+    }
+
+    private void cancelRolloverTask() {
+        if (rolloverTask != null) {
+            rolloverTask.cancel(false);
+            rolloverTask = null;
+        }
+    }
+
+    private ZoneId resolveZone(String configured) {
+        if (configured == null) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(configured);
+        } catch (DateTimeException e) {
+            plugin.getLogger().warning("Unknown VOTD time zone '" + configured + "'; using the server time zone.");
+            return ZoneId.systemDefault();
+        }
+    }
+
+    /**
+     * Announces the next pooled random verse without touching the network, topping the pool
+     * up in the background when it runs low. Only an empty pool falls back to a live fetch.
+     */
     private void announceRandomVerse() {
+        VotdEntry pooled = randomPool.poll();
+        refillRandomPool();
+        if (pooled != null) {
+            cacheRandomVerse(pooled);
+            audiences.all().sendMessage(formatMessage(pooled, randomAnnouncementTemplate));
+            return;
+        }
         getRandomVerseAsync().whenComplete((verse, error) -> {
             if (error != null || verse == null) {
                 if (error != null) {
-                    plugin.getLogger().warning("Random verse fetch failed: " + error.getMessage());
-                    if (debugLogging) {
-                        plugin.getLogger().log(Level.FINE, "Random verse fetch failed.", error);
-                    }
+                    logFetchFailure("Random verse fetch failed", error);
                 } else {
                     plugin.getLogger().warning("Random verse fetch failed with no cached verse.");
                 }
                 return;
             }
-            Bukkit.getScheduler().runTask(plugin, () -> audiences.all().sendMessage(formatMessage(verse, randomAnnouncementFormat)));
+            Bukkit.getScheduler().runTask(plugin, () -> audiences.all().sendMessage(formatMessage(verse, randomAnnouncementTemplate)));
         });
     }
 
-    private CompletableFuture<VotdEntry> getVerseAsync() {
-        LocalDate today = LocalDate.now();
-        VotdEntry cached = cachedVerse;
-        if (cached != null && today.equals(cachedDate) && Objects.equals(cachedVersion, bibleVersion)) {
-            return CompletableFuture.completedFuture(cached);
+    /**
+     * Fetches random verses in one background batch until the pool is full. Duplicates are
+     * refused by the pool, so the batch gives up after twice the capacity in attempts.
+     */
+    private void refillRandomPool() {
+        long generation = randomPool.beginRefill();
+        if (generation < 0L) {
+            return;
         }
+        fetchIntoPool(generation, randomPool.capacity() * 2);
+    }
 
-        synchronized (fetchLock) {
-            if (inflightFetch != null && !inflightFetch.isDone()) {
-                return inflightFetch;
+    private void fetchIntoPool(long generation, int attemptsLeft) {
+        if (attemptsLeft <= 0 || randomPool.missing(generation) <= 0) {
+            randomPool.endRefill(generation);
+            return;
+        }
+        boolean record = metrics.isEnabled();
+        long startNanos = record ? System.nanoTime() : 0L;
+        fetchVerseAsync(randomApiUrlTemplate, bibleVersion).whenComplete((verse, error) -> {
+            if (record) {
+                metrics.recordVotdFetchRandom(System.nanoTime() - startNanos);
             }
-            CompletableFuture<VotdEntry> future = new CompletableFuture<>();
-            inflightFetch = future;
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                boolean record = metrics.isEnabled();
-                long startNanos = record ? System.nanoTime() : 0L;
-                try {
-                    VotdEntry verse = fetchVerse(apiUrlTemplate);
-                    cacheVerse(verse, LocalDate.now());
-                    future.complete(verse);
-                } catch (Exception e) {
-                    VotdEntry fallback = cachedVerse;
-                    if (fallback != null) {
-                        future.complete(fallback);
-                    } else {
-                        future.completeExceptionally(e);
-                    }
-                } finally {
-                    if (record) {
-                        metrics.recordVotdFetchDaily(System.nanoTime() - startNanos);
-                    }
-                    synchronized (fetchLock) {
-                        inflightFetch = null;
-                    }
-                }
-            });
-            return future;
+            if (error != null) {
+                logFetchFailure("Random verse prefetch failed", error);
+                randomPool.endRefill(generation);
+                return;
+            }
+            randomPool.offer(verse, generation);
+            fetchIntoPool(generation, attemptsLeft - 1);
+        });
+    }
+
+    /**
+     * Returns the verse of the day in a version without waiting on the network whenever a
+     * verse for that version is cached. Once the day has rolled over the previous verse keeps
+     * being served while a background fetch replaces it.
+     */
+    private CompletableFuture<VotdEntry> getVerseAsync(String version) {
+        CachedVerse cached = verseCache.latest(version);
+        if (cached != null) {
+            if (!LocalDate.now(zone).equals(cached.date())
+                && System.currentTimeMillis() - lastFailedFetchMillis.getOrDefault(version, 0L) >= REFRESH_RETRY_MILLIS) {
+                refreshVerse(version);
+            }
+            return CompletableFuture.completedFuture(cached.entry());
         }
+        return refreshVerse(version);
+    }
+
+    /**
+     * Fetches today's verse in a version, joining a fetch for the same day and version that is
+     * already running, so a burst of requests costs one API call per version.
+     */
+    private CompletableFuture<VotdEntry> refreshVerse(String version) {
+        VerseCache.Key key = new VerseCache.Key(LocalDate.now(zone), version);
+        return dailyFetches.run(key, () -> fetchDailyVerse(version));
+    }
+
+    private CompletableFuture<VotdEntry> fetchDailyVerse(String version) {
+        boolean record = metrics.isEnabled();
+        long startNanos = record ? System.nanoTime() : 0L;
+        return fetchVerseAsync(apiUrlTemplate, version).handle((verse, error) -> {
+            if (record) {
+                metrics.recordVotdFetchDaily(System.nanoTime() - startNanos);
+            }
+            if (error == null) {
+                LocalDate today = LocalDate.now(zone);
+                if (isPreviousDaysVerse(verse, version, today)) {
+                    // The API has not rolled over yet; keep the verse stale so it is retried.
+                    lastFailedFetchMillis.put(version, System.currentTimeMillis());
+                } else {
+                    lastFailedFetchMillis.remove(version);
+                    cacheVerse(verse, version, today);
+                }
+                return verse;
+            }
+            lastFailedFetchMillis.put(version, System.currentTimeMillis());
+            CachedVerse fallback = verseCache.latest(version);
+            if (fallback != null) {
+                return fallback.entry();
+            }
+            throw asCompletionException(error);
+        });
     }
 
     private CompletableFuture<VotdEntry> getRandomVerseAsync() {
@@ -283,54 +577,119 @@ public final class VotdService {
             if (inflightRandomFetch != null && !inflightRandomFetch.isDone()) {
                 return inflightRandomFetch;
             }
-            CompletableFuture<VotdEntry> future = new CompletableFuture<>();
-            inflightRandomFetch = future;
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                boolean record = metrics.isEnabled();
-                long startNanos = record ? System.nanoTime() : 0L;
-                try {
-                    VotdEntry verse = fetchVerse(randomApiUrlTemplate);
-                    cacheRandomVerse(verse);
-                    future.complete(verse);
-                } catch (Exception e) {
-                    VotdEntry fallback = cachedRandomVerse;
-                    if (fallback != null) {
-                        future.complete(fallback);
-                    } else {
-                        future.completeExceptionally(e);
-                    }
-                } finally {
-                    if (record) {
-                        metrics.recordVotdFetchRandom(System.nanoTime() - startNanos);
-                    }
-                    synchronized (randomFetchLock) {
-                        inflightRandomFetch = null;
+            boolean record = metrics.isEnabled();
+            long startNanos = record ? System.nanoTime() : 0L;
+            String version = bibleVersion;
+            CompletableFuture<VotdEntry> future = fetchVerseAsync(randomApiUrlTemplate, version).handle((verse, error) -> {
+                if (record) {
+                    metrics.recordVotdFetchRandom(System.nanoTime() - startNanos);
+                }
+                if (error == null) {
+                    if (version.equals(bibleVersion)) {
+                        cacheRandomVerse(verse);
                     }
+                    return verse;
+                }
+                VotdEntry fallback = cachedRandomVerse;
+                if (fallback != null) {
+                    return fallback;
                 }
+                throw asCompletionException(error);
             });
+            inflightRandomFetch = future;
             return future;
         }
     }
 
-    private VotdEntry fetchVerse(String template) throws IOException, InterruptedException {
-        String url = buildApiUrl(template, bibleVersion);
-        HttpRequest request = HttpRequest.newBuilder()
-            .uri(URI.create(url))
-            .timeout(HTTP_TIMEOUT)
-            .header("User-Agent", "CraftedGateway VOTD")
-            .GET()
-            .build();
+    /**
+     * Fetches one verse without blocking any thread. The response body is parsed as it
+     * completes, on the service's own HTTP executor, and the whole exchange is cancelled if
+     * it outlives {@link #REQUEST_DEADLINE}, on {@link #stop()}, or when a reload changes
+     * what it was fetching.
+     */
+    private CompletableFuture<VotdEntry> fetchVerseAsync(String template, String version) {
+        if (httpExecutor.isShutdown()) {
+            return CompletableFuture.failedFuture(new CancellationException("VOTD service stopped"));
+        }
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder()
+                .uri(URI.create(buildApiUrl(template, version)))
+                .timeout(HTTP_TIMEOUT)
+                .header("User-Agent", "CraftedGateway VOTD")
+                .GET()
+                .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<HttpResponse<VotdEntry>> exchange = httpClient.sendAsync(
+            request,
+            info -> verseSubscriber(info, version)
+        );
+        inflightRequests.add(exchange);
+        CompletableFuture<VotdEntry> result = exchange.thenApply(HttpResponse::body)
+            .orTimeout(REQUEST_DEADLINE.toMillis(), TimeUnit.MILLISECONDS);
+        result.whenComplete((verse, error) -> {
+            inflightRequests.remove(exchange);
+            if (error != null) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-        if (response.statusCode() != 200) {
-            throw new IOException("Unexpected response status: " + response.statusCode());
+    private HttpResponse.BodySubscriber<VotdEntry> verseSubscriber(HttpResponse.ResponseInfo info, String version) {
+        if (info.statusCode() != 200) {
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.discarding(), ignored -> {
+                throw new UncheckedIOException(new IOException("Unexpected response status: " + info.statusCode()));
+            });
         }
+        HttpResponse.BodySubscriber<String> text = HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+        return HttpResponse.BodySubscribers.mapping(text, body -> {
+            try {
+                return parseVerse(JsonParser.parseString(body), version);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 
-        return parseVerse(response.body());
+    private void cancelRequests() {
+        for (CompletableFuture<?> request : inflightRequests) {
+            request.cancel(true);
+        }
+        inflightRequests.clear();
     }
 
-    private VotdEntry parseVerse(String json) throws IOException {
-        JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+    private void logFetchFailure(String message, Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof CancellationException) {
+            return;
+        }
+        plugin.getLogger().warning(message + ": " + cause.getMessage());
+        if (debugLogging) {
+            plugin.getLogger().log(Level.FINE, message + ".", cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof UncheckedIOException)
+            && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    private static CompletionException asCompletionException(Throwable error) {
+        return error instanceof CompletionException completion ? completion : new CompletionException(error);
+    }
+
+    private static VotdEntry parseVerse(JsonElement json, String bibleVersion) throws IOException {
+        if (!json.isJsonObject()) {
+            throw new IOException("Unexpected API response.");
+        }
+        JsonObject root = json.getAsJsonObject();
         JsonObject verseObject = root.has("verse") ? root.getAsJsonObject("verse") : null;
         JsonObject details = verseObject != null && verseObject.has("details") ? verseObject.getAsJsonObject("details") : null;
         if (details == null) {
@@ -344,27 +703,33 @@ public final class VotdService {
         return new VotdEntry(reference, cleanedText, version);
     }
 
-    private Component formatMessage(VotdEntry verse, String template) {
-        return MessageTemplate.render(
-            template,
-            "reference", verse.reference(),
-            "version", verse.version(),
-            "text", verse.text()
-        );
+    private Component formatMessage(VotdEntry verse, CompiledTemplate template) {
+        return plugin.renderCache().render(template, verse.reference(), verse.version(), verse.text());
+    }
+
+    private static CompiledTemplate compileFormat(String format) {
+        return MessageTemplate.compile(format, "reference", "version", "text");
+    }
+
+    private boolean isPreviousDaysVerse(VotdEntry verse, String version, LocalDate today) {
+        CachedVerse previous = verseCache.latest(version);
+        return previous != null
+            && previous.date().isBefore(today)
+            && previous.entry().equals(verse);
     }
 
-    private void cacheVerse(VotdEntry verse, LocalDate date) {
-        cachedVerse = verse;
-        cachedDate = date;
-        cachedVersion = bibleVersion;
+    private void cacheVerse(VotdEntry verse, String version, LocalDate date) {
+        verseCache.put(new CachedVerse(date, version, verse));
+        diskCache.saveDaily(verseCache.latestPerVersion());
     }
 
     private void cacheRandomVerse(VotdEntry verse) {
         cachedRandomVerse = verse;
+        diskCache.saveRandom(new CachedVerse(null, bibleVersion, verse));
     }
 
     public boolean hasCachedVerse() {
-        return cachedVerse != null;
+        return !verseCache.isEmpty();
     }
 
     public boolean hasCachedRandomVerse() {
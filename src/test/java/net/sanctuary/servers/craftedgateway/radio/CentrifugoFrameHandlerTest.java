@@ -0,0 +1,84 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CentrifugoFrameHandlerTest {
+    private static final String PUBLICATION = "{\"channel\":\"station:a\",\"pub\":{\"offset\":9,"
+        + "\"data\":{\"np\":{\"now_playing\":{\"sh_id\":2,\"song\":{\"text\":\"A - Two\"}}}}}}";
+    private static final String OTHER_STATION = "{\"channel\":\"station:b\",\"pub\":{\"offset\":4,"
+        + "\"data\":{\"np\":{\"current_song\":{\"song\":{\"text\":\"B - One\"}}}}}}";
+
+    private final RecordingSink sink = new RecordingSink("a", "b");
+    private final RadioStation station = sink.primaryStation();
+    private final CentrifugoFrameHandler handler = new CentrifugoFrameHandler(
+        SourceTestSupport.context(null, SourceTestSupport.fastReconnectPolicy(), sink)
+    );
+
+    @Test
+    void parsedFrameAdvancesStreamPosition() {
+        station.updateStreamPosition("e1", 5L);
+
+        handler.handle(PUBLICATION, () -> { });
+
+        assertEquals(List.of("a: A - Two"), sink.drain());
+        assertEquals(9L, station.streamPosition().offset());
+    }
+
+    @Test
+    void malformedReplyLeavesStreamPositionAlone() {
+        station.updateStreamPosition("e1", 5L);
+
+        handler.handle(PUBLICATION + "\n{\"channel\":", () -> { });
+
+        assertEquals(List.of("cleared"), sink.drain());
+        assertEquals(5L, station.streamPosition().offset());
+    }
+
+    @Test
+    void newestRecoveredPublicationWins() throws Exception {
+        handler.handle(NowPlayingExtractorTest.fixture("connect-subs.json"), () -> { });
+
+        assertEquals(List.of("a: Artist A - New"), sink.drain());
+        assertEquals(new RadioStation.StreamPosition("e1", 7L), station.streamPosition());
+    }
+
+    @Test
+    void duplicateSingleReplyIsSkipped() {
+        station.updateStreamPosition("e1", 5L);
+        station.setLastProcessedShId("2");
+
+        handler.handle(PUBLICATION.replace(",", ",\n  "), () -> { });
+
+        assertEquals(List.of(), sink.drain());
+        assertEquals(9L, station.streamPosition().offset());
+    }
+
+    @Test
+    void secondValueOnTheSameLineIsHandled() {
+        assertBatchIsHandled("");
+    }
+
+    @Test
+    void newlineSeparatedRepliesAreHandled() {
+        assertBatchIsHandled("\n");
+    }
+
+    /**
+     * Sends a duplicate of station a's song batched with a reply for station b and a ping. The
+     * duplicate alone would be skipped, but the batch must still reach the other replies.
+     */
+    private void assertBatchIsHandled(String separator) {
+        station.setLastProcessedShId("2");
+        AtomicInteger pings = new AtomicInteger();
+
+        handler.handle(PUBLICATION + separator + OTHER_STATION + separator + "{}", pings::incrementAndGet);
+
+        assertEquals(List.of("a: A - Two", "b: B - One"), sink.drain());
+        assertEquals(1, pings.get());
+    }
+}
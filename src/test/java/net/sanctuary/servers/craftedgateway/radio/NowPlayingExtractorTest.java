@@ -0,0 +1,170 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NowPlayingExtractorTest {
+    private final NowPlayingExtractor extractor = new NowPlayingExtractor(SongFields.azuraCast());
+
+    @Test
+    void readsConnectData() throws IOException {
+        JsonObject root = single(fixture("connect-data.json"));
+
+        JsonArray data = root.getAsJsonObject("connect").getAsJsonArray("data");
+        assertEquals(1, data.size());
+        JsonObject row = data.get(0).getAsJsonObject();
+        assertEquals("station:a", row.get("channel").getAsString());
+        JsonObject np = row.getAsJsonObject("data").getAsJsonObject("np");
+        JsonObject nowPlaying = np.getAsJsonObject("now_playing");
+        assertEquals("11", nowPlaying.get("sh_id").getAsString());
+        assertEquals("1700000000", nowPlaying.get("played_at").getAsString());
+        JsonObject song = nowPlaying.getAsJsonObject("song");
+        assertEquals("Artist A - One", song.get("text").getAsString());
+        assertEquals("Artist A", song.get("artist").getAsString());
+        assertEquals("One", song.get("title").getAsString());
+        assertEquals("s11", song.get("id").getAsString());
+
+        assertFalse(song.has("album"));
+        assertFalse(song.has("art"));
+        assertFalse(nowPlaying.has("duration"));
+        assertFalse(np.has("station"));
+        assertFalse(np.has("listeners"));
+        assertFalse(np.has("playing_next"));
+        assertFalse(np.has("song_history"));
+        assertFalse(root.getAsJsonObject("connect").has("client"));
+    }
+
+    @Test
+    void readsSubscriptionPublicationsInOrder() throws IOException {
+        JsonObject root = single(fixture("connect-subs.json"));
+
+        JsonObject sub = root.getAsJsonObject("connect").getAsJsonObject("subs").getAsJsonObject("station:a");
+        assertEquals("e1", sub.get("epoch").getAsString());
+        assertEquals(7L, sub.get("offset").getAsLong());
+        assertTrue(sub.get("recovered").getAsBoolean());
+        assertFalse(sub.has("recoverable"));
+
+        JsonArray publications = sub.getAsJsonArray("publications");
+        assertEquals(2, publications.size());
+        assertEquals(7L, publications.get(0).getAsJsonObject().get("offset").getAsLong());
+        assertEquals("Artist A - New", songText(publications.get(0).getAsJsonObject()));
+        assertEquals(6L, publications.get(1).getAsJsonObject().get("offset").getAsLong());
+        assertEquals("Artist A - Old", songText(publications.get(1).getAsJsonObject()));
+        assertFalse(publications.get(0).getAsJsonObject().getAsJsonObject("data").getAsJsonObject("np").has("listeners"));
+    }
+
+    @Test
+    void readsPublication() throws IOException {
+        JsonObject root = single(fixture("pub.json"));
+
+        assertEquals("station:b", root.get("channel").getAsString());
+        JsonObject pub = root.getAsJsonObject("pub");
+        assertEquals(9L, pub.get("offset").getAsLong());
+        assertEquals("Artist D - Three", songText(pub));
+        JsonObject np = pub.getAsJsonObject("data").getAsJsonObject("np");
+        assertFalse(np.has("station"));
+        assertFalse(np.has("song_history"));
+    }
+
+    @Test
+    void readsBareNowPlayingPayload() throws IOException {
+        JsonObject root = single(fixture("data-np.json"));
+
+        assertEquals("Artist F - Four", songText(root));
+        JsonObject np = root.getAsJsonObject("data").getAsJsonObject("np");
+        assertFalse(np.has("is_online"));
+        assertFalse(np.has("playing_next"));
+    }
+
+    @Test
+    void fieldOrderDoesNotMatter() throws IOException {
+        JsonObject root = single(fixture("unusual-order.json"));
+
+        assertEquals("station:a", root.get("channel").getAsString());
+        JsonObject pub = root.getAsJsonObject("pub");
+        assertEquals(12L, pub.get("offset").getAsLong());
+        JsonObject nowPlaying = pub.getAsJsonObject("data").getAsJsonObject("np").getAsJsonObject("now_playing");
+        assertEquals("51", nowPlaying.get("sh_id").getAsString());
+        assertEquals("Artist G - Five", nowPlaying.getAsJsonObject("song").get("text").getAsString());
+        assertEquals("Five", nowPlaying.getAsJsonObject("song").get("title").getAsString());
+        assertFalse(nowPlaying.has("duration"));
+    }
+
+    @Test
+    void readsBatchedRepliesAndPings() throws IOException {
+        NowPlayingExtractor.Frame frame = extractor.open(fixture("pub.json") + "\n{}\n" + fixture("data-np.json"));
+
+        assertEquals("Artist D - Three", songText(frame.next().root().getAsJsonObject("pub")));
+        NowPlayingExtractor.Reply ping = frame.next();
+        assertTrue(ping.empty());
+        assertEquals("Artist F - Four", songText(frame.next().root()));
+        assertNull(frame.next());
+    }
+
+    @Test
+    void nonObjectReplyHasNoRoot() throws IOException {
+        NowPlayingExtractor.Frame frame = extractor.open("null");
+
+        NowPlayingExtractor.Reply reply = frame.next();
+        assertNull(reply.root());
+        assertFalse(reply.empty());
+        assertNull(frame.next());
+    }
+
+    @Test
+    void countsRetainedAndSkippedChars() throws IOException {
+        String payload = "{\"pub\":{\"offset\":9,\"junk\":{\"a\":[1,2,3]}}}";
+        NowPlayingExtractor.Frame frame = extractor.open(payload);
+        while (frame.next() != null) {
+            // Read every reply so the counts cover the whole frame.
+        }
+
+        long retained = "pub".length() + "offset".length() + "9".length();
+        assertEquals(retained, frame.retainedChars());
+        assertEquals(payload.length() - retained, frame.skippedChars());
+    }
+
+    @Test
+    void skipsMostOfARealisticFrame() throws IOException {
+        String payload = fixture("connect-data.json");
+        NowPlayingExtractor.Frame frame = extractor.open(payload);
+        while (frame.next() != null) {
+            // Read every reply so the counts cover the whole frame.
+        }
+
+        assertTrue(frame.retainedChars() > 0L);
+        assertEquals(payload.length() - frame.retainedChars(), frame.skippedChars());
+        assertTrue(frame.skippedChars() > frame.retainedChars(), "Skipped subtrees must not count as retained.");
+    }
+
+    private JsonObject single(String payload) throws IOException {
+        NowPlayingExtractor.Frame frame = extractor.open(payload);
+        NowPlayingExtractor.Reply reply = frame.next();
+        assertNotNull(reply);
+        assertNull(frame.next(), "Expected a single reply.");
+        return reply.root();
+    }
+
+    private static String songText(JsonObject payload) {
+        return payload.getAsJsonObject("data").getAsJsonObject("np").getAsJsonObject("now_playing")
+            .getAsJsonObject("song").get("text").getAsString();
+    }
+
+    static String fixture(String name) throws IOException {
+        try (InputStream in = NowPlayingExtractorTest.class.getResourceAsStream(name)) {
+            assertNotNull(in, "Missing fixture " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).strip();
+        }
+    }
+}
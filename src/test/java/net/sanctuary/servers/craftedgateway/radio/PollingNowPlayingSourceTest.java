@@ -0,0 +1,145 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollingNowPlayingSourceTest {
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final Set<String> revalidated = ConcurrentHashMap.newKeySet();
+    private final Set<String> deadStations = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private NowPlayingSource source;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/np/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        if (source != null) {
+            source.stop();
+        }
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void pollsEveryStationAndRevalidatesUnchangedSongs() throws Exception {
+        RecordingSink sink = new RecordingSink("a", "b");
+        start(sink, SourceTestSupport.fastReconnectPolicy());
+
+        assertEquals(Set.of("a: a - One", "b: b - One"), new HashSet<>(List.of(sink.next(), sink.next())));
+        SourceTestSupport.await(() -> revalidated.containsAll(List.of("a", "b")), "conditional polls");
+        assertTrue(sink.drain().isEmpty(), "A 304 must not report a song.");
+        SourceTestSupport.await(() -> source.status().connected(), "the source to connect");
+    }
+
+    @Test
+    void deadStationDoesNotDisturbTheOthers() throws Exception {
+        deadStations.add("b");
+        RecordingSink sink = new RecordingSink("a", "b");
+        ReconnectPolicy policy = SourceTestSupport.fastReconnectPolicy();
+        start(sink, policy);
+
+        assertEquals("a: a - One", sink.next());
+        SourceTestSupport.await(() -> requestCount("b") >= 5, "several poll cycles");
+        assertFalse(sink.drain().contains("lost"), "Healthy stations must keep their songs.");
+        assertEquals(0, policy.snapshot().consecutiveFailures());
+        assertTrue(source.status().connected());
+    }
+
+    @Test
+    void cycleWhereEveryStationFailsCountsOnce() throws Exception {
+        deadStations.add("a");
+        deadStations.add("b");
+        RecordingSink sink = new RecordingSink("a", "b");
+        ReconnectPolicy policy = SourceTestSupport.fastReconnectPolicy();
+        start(sink, policy);
+
+        assertEquals("lost", sink.next());
+        SourceTestSupport.await(() -> policy.snapshot().consecutiveFailures() > 0, "the failure to be recorded");
+        Thread.sleep(100L);
+        assertEquals(1, policy.snapshot().consecutiveFailures());
+        assertFalse(source.status().connected());
+    }
+
+    @Test
+    void recoveredStationIsPolledInFullAgain() throws Exception {
+        deadStations.add("a");
+        RecordingSink sink = new RecordingSink("a");
+        start(sink, SourceTestSupport.fastReconnectPolicy());
+
+        assertEquals("lost", sink.next());
+        deadStations.remove("a");
+        assertEquals("a: a - One", sink.next());
+        SourceTestSupport.await(() -> source.status().connected(), "the source to reconnect");
+    }
+
+    private void start(RecordingSink sink, ReconnectPolicy policy) {
+        String url = "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+            + server.getAddress().getPort() + "/np/{shortcode}";
+        source = new PollingNowPlayingSource(
+            SourceTestSupport.context(executor, policy, sink),
+            url,
+            2L,
+            Duration.ofSeconds(2)
+        );
+        source.start();
+    }
+
+    private int requestCount(String shortcode) {
+        AtomicInteger count = requests.get(shortcode);
+        return count == null ? 0 : count.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String shortcode = exchange.getRequestURI().getPath().substring("/np/".length());
+        requests.computeIfAbsent(shortcode, ignored -> new AtomicInteger()).incrementAndGet();
+        String etag = "\"" + shortcode + "-1\"";
+        try (exchange) {
+            if (deadStations.contains(shortcode)) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                revalidated.add(shortcode);
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            byte[] body = ("{\"sh_id\":1,\"song\":{\"text\":\"" + shortcode + " - One\"}}")
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", etag);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReconnectPolicyTest {
+    private static final long BASE = 1_000L;
+    private static final long MAX = 8_000L;
+    private static final long STABLE = 60_000L;
+    private static final int THRESHOLD = 3;
+    private static final long OPEN = 30_000L;
+
+    private long now = 1_000_000L;
+    private double random = 1.0;
+    private ReconnectPolicy policy;
+
+    @BeforeEach
+    void createPolicy() {
+        policy = new ReconnectPolicy(() -> now, () -> random);
+        policy.configure(BASE, MAX, STABLE, THRESHOLD, OPEN);
+    }
+
+    @Test
+    void delaysDoubleUpToTheCap() {
+        policy.configure(BASE, MAX, STABLE, 10, OPEN);
+        List<Long> delays = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            delays.add(policy.recordFailure().delayMillis());
+        }
+        assertEquals(List.of(1_000L, 2_000L, 4_000L, 8_000L, 8_000L), delays);
+    }
+
+    @Test
+    void jitterNeverGoesBelowTheMinimum() {
+        random = 0.0;
+        assertEquals(1_000L, policy.recordFailure().delayMillis());
+        assertEquals(1_000L, policy.snapshot().millisUntilNextAttempt());
+    }
+
+    @Test
+    void circuitOpensAtTheThreshold() {
+        policy.recordFailure();
+        policy.recordFailure();
+        ReconnectPolicy.Backoff backoff = policy.recordFailure();
+
+        assertTrue(backoff.circuitOpened());
+        assertEquals(OPEN, backoff.delayMillis());
+        assertEquals(ReconnectPolicy.CircuitState.OPEN, policy.snapshot().state());
+    }
+
+    @Test
+    void successfulProbeClosesTheCircuitAndClearsFailures() {
+        openCircuit();
+        policy.recordAttempt();
+        assertEquals(ReconnectPolicy.CircuitState.HALF_OPEN, policy.snapshot().state());
+
+        policy.recordConnected();
+        ReconnectPolicy.Snapshot snapshot = policy.snapshot();
+        assertEquals(ReconnectPolicy.CircuitState.CLOSED, snapshot.state());
+        assertEquals(0, snapshot.consecutiveFailures());
+
+        ReconnectPolicy.Backoff backoff = policy.recordFailure();
+        assertFalse(backoff.circuitOpened());
+        assertEquals(BASE, backoff.delayMillis());
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() {
+        openCircuit();
+        policy.recordAttempt();
+
+        ReconnectPolicy.Backoff backoff = policy.recordFailure();
+        assertTrue(backoff.circuitOpened());
+        assertEquals(ReconnectPolicy.CircuitState.OPEN, policy.snapshot().state());
+    }
+
+    @Test
+    void stableConnectionResetsFailures() {
+        policy.recordFailure();
+        policy.recordFailure();
+        policy.recordConnected();
+        now += STABLE - 1;
+        assertEquals(2, policy.snapshot().consecutiveFailures());
+
+        now += 1;
+        assertEquals(0, policy.snapshot().consecutiveFailures());
+        assertEquals(BASE, policy.recordFailure().delayMillis());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < THRESHOLD; i++) {
+            policy.recordFailure();
+        }
+        now += OPEN;
+    }
+}
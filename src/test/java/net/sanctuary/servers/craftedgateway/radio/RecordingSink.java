@@ -0,0 +1,75 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * A sink that records what a source reports as readable events, such as {@code a: A - One}
+ * for a song change on station {@code a} or {@code lost} for a lost connection.
+ */
+final class RecordingSink implements NowPlayingSource.Sink {
+    private final Map<String, RadioStation> stations = new LinkedHashMap<>();
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+    RecordingSink(String... shortcodes) {
+        for (String shortcode : shortcodes) {
+            RadioStation station = new RadioStation(shortcode, shortcode);
+            stations.put(station.channel(), station);
+        }
+    }
+
+    @Override
+    public Map<String, RadioStation> stations() {
+        return stations;
+    }
+
+    @Override
+    public RadioStation primaryStation() {
+        return stations.values().iterator().next();
+    }
+
+    @Override
+    public void songChanged(RadioStation station, SongInfo song) {
+        events.add(station.name() + ": " + (song == null ? null : song.text()));
+    }
+
+    @Override
+    public void songRestored(RadioStation station) {
+        events.add("restored " + station.name());
+    }
+
+    @Override
+    public void connectionLost() {
+        events.add("lost");
+    }
+
+    @Override
+    public void songsCleared() {
+        events.add("cleared");
+    }
+
+    /**
+     * Waits for the next event.
+     */
+    String next() throws InterruptedException {
+        String event = events.poll(SourceTestSupport.TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        assertNotNull(event, "Timed out waiting for a sink event.");
+        return event;
+    }
+
+    /**
+     * Returns the events recorded so far without waiting.
+     */
+    List<String> drain() {
+        List<String> drained = new ArrayList<>();
+        events.drainTo(drained);
+        return drained;
+    }
+}
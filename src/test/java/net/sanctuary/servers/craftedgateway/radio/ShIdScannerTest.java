@@ -0,0 +1,79 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ShIdScannerTest {
+    @Test
+    void findsTheNowPlayingShId() throws Exception {
+        assertEquals("31", ShIdScanner.find(NowPlayingExtractorTest.fixture("pub.json")));
+        assertEquals("51", ShIdScanner.find(NowPlayingExtractorTest.fixture("unusual-order.json")));
+    }
+
+    @Test
+    void ignoresShIdOutsideNowPlaying() {
+        String frame = "{\"pub\":{\"data\":{\"np\":{"
+            + "\"song_history\":[{\"sh_id\":10}],"
+            + "\"playing_next\":{\"sh_id\":12},"
+            + "\"now_playing\":{\"sh_id\":11},"
+            + "\"sh_id\":13}}}}";
+        assertEquals("11", ShIdScanner.find(frame));
+    }
+
+    @Test
+    void ignoresShIdNestedInsideNowPlaying() {
+        String frame = "{\"now_playing\":{\"song\":{\"sh_id\":99,\"history\":[{\"sh_id\":98}]},\"sh_id\":5}}";
+        assertEquals("5", ShIdScanner.find(frame));
+    }
+
+    @Test
+    void ignoresShIdInsideStringValues() {
+        assertEquals("5", ShIdScanner.find("{\"now_playing\":{\"song\":{\"text\":\"\\\"sh_id\\\":99\"},\"sh_id\":5}}"));
+        assertEquals("6", ShIdScanner.find("{\"now_playing\":{\"text\":\"sh_id\",\"sh_id\":6}}"));
+        assertEquals("7", ShIdScanner.find("{\"now_playing\":{\"text\":\"{\\\"sh_id\\\":1}\",\"sh_id\":\"7\"}}"));
+    }
+
+    @Test
+    void skipsEscapedQuotesInStrings() {
+        String frame = "{\"now_playing\":{\"song\":{\"text\":\"Say \\\"hi\\\" }{ \\\\\"},\"sh_id\":\"8\"}}";
+        assertEquals("8", ShIdScanner.find(frame));
+    }
+
+    @Test
+    void rejectsEscapedShIdValues() {
+        assertNull(ShIdScanner.find("{\"now_playing\":{\"sh_id\":\"a\\\"b\"}}"));
+    }
+
+    @Test
+    void missingShIdIsNotMatched() {
+        assertNull(ShIdScanner.find("{\"now_playing\":{\"song\":{\"text\":\"A - One\"}}}"));
+        assertNull(ShIdScanner.find("{\"now_playing\":{\"song\":{\"sh_id\":1}}}"));
+        assertNull(ShIdScanner.find("{\"now_playing\":null,\"sh_id\":1}"));
+        assertNull(ShIdScanner.find("{\"np\":{\"sh_id\":1}}"));
+    }
+
+    @Test
+    void framesWithSeveralNowPlayingObjectsAreNotMatched() {
+        assertNull(ShIdScanner.find("{\"now_playing\":{\"sh_id\":1},\"x\":{\"now_playing\":{\"sh_id\":1}}}"));
+    }
+
+    @Test
+    void onlyWholeSingleObjectsAreMatched() {
+        String reply = "{\"pub\":{\"offset\":3,\"data\":{\"np\":{\"now_playing\":{\"sh_id\":7}}}}}";
+        assertEquals("7", ShIdScanner.find(" \n" + reply.replace(",", ",\n  ") + "\r\n"));
+        assertNull(ShIdScanner.find(reply + "{}"));
+        assertNull(ShIdScanner.find(reply + "\n{}"));
+        assertNull(ShIdScanner.find(reply.substring(0, reply.length() - 1)));
+        assertNull(ShIdScanner.find("[" + reply + "]"));
+    }
+
+    @Test
+    void findsThePublicationOffset() throws Exception {
+        assertEquals(9L, ShIdScanner.findPubOffset(NowPlayingExtractorTest.fixture("pub.json")));
+        assertEquals(12L, ShIdScanner.findPubOffset(NowPlayingExtractorTest.fixture("unusual-order.json")));
+        assertEquals(-1L, ShIdScanner.findPubOffset("{\"pub\":{\"data\":{\"offset\":4}}}"));
+        assertEquals(-1L, ShIdScanner.findPubOffset(NowPlayingExtractorTest.fixture("data-np.json")));
+    }
+}
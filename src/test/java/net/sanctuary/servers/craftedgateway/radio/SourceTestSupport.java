@@ -0,0 +1,109 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Wires now-playing sources to local stand-in servers without a running Minecraft server.
+ * Ticks are run ten times faster than on a server so reconnects and polls happen quickly.
+ */
+final class SourceTestSupport {
+    static final long TICK_MILLIS = 5L;
+    static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private SourceTestSupport() {
+    }
+
+    static NowPlayingSource.Context context(
+        ScheduledExecutorService executor,
+        ReconnectPolicy reconnectPolicy,
+        RecordingSink sink
+    ) {
+        Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        return new NowPlayingSource.Context(
+            logger,
+            scheduler(executor),
+            HttpClient.newHttpClient(),
+            new NoopMetrics(),
+            reconnectPolicy,
+            sink,
+            SongFields.azuraCast(),
+            false
+        );
+    }
+
+    /**
+     * Returns a policy that retries after one second without jitter.
+     */
+    static ReconnectPolicy fastReconnectPolicy() {
+        ReconnectPolicy policy = new ReconnectPolicy(System::currentTimeMillis, () -> 0.0);
+        policy.configure(1_000L, 1_000L, 60_000L, 5, 1_000L);
+        return policy;
+    }
+
+    static void await(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + description + ".");
+            }
+            Thread.sleep(5L);
+        }
+    }
+
+    private static NowPlayingSource.Scheduler scheduler(ScheduledExecutorService executor) {
+        return new NowPlayingSource.Scheduler() {
+            @Override
+            public NowPlayingSource.Task runRepeating(Runnable action, long delayTicks, long intervalTicks) {
+                ScheduledFuture<?> future = executor.scheduleAtFixedRate(
+                    action,
+                    delayTicks * TICK_MILLIS,
+                    intervalTicks * TICK_MILLIS,
+                    TimeUnit.MILLISECONDS
+                );
+                return () -> future.cancel(false);
+            }
+
+            @Override
+            public NowPlayingSource.Task runLater(Runnable action, long delayTicks) {
+                ScheduledFuture<?> future = executor.schedule(action, delayTicks * TICK_MILLIS, TimeUnit.MILLISECONDS);
+                return () -> future.cancel(false);
+            }
+        };
+    }
+
+    private static final class NoopMetrics implements RadioMetrics {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordRadioHandleMessage(long durationNanos) {
+        }
+
+        @Override
+        public void recordRadioFrame(boolean accepted) {
+        }
+
+        @Override
+        public void recordRadioDuplicateFrame(boolean skipped) {
+        }
+
+        @Override
+        public void recordRadioRecovery(boolean recovered) {
+        }
+
+        @Override
+        public void recordRadioJsonChars(long retainedChars, long skippedChars) {
+        }
+    }
+}
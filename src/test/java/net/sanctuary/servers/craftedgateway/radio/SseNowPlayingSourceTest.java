@@ -0,0 +1,130 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseNowPlayingSourceTest {
+    private static final String CONNECT_REPLY = "{\"connect\":{\"client\":\"c1\",\"subs\":{\"station:a\":"
+        + "{\"epoch\":\"e1\",\"offset\":5,\"recoverable\":true,\"publications\":[{\"offset\":5,"
+        + "\"data\":{\"np\":{\"now_playing\":{\"sh_id\":1,\"song\":{\"text\":\"A - One\"}}}}}]}}}}";
+    private static final String PUBLICATION = "{\"channel\":\"station:a\",\"pub\":{\"offset\":6,"
+        + "\"data\":{\"np\":{\"now_playing\":{\"sh_id\":2,\"song\":{\"text\":\"A - Two\"}}}}}}";
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private final BlockingQueue<String> connectMessages = new LinkedBlockingQueue<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean holdOpen = true;
+    private HttpServer server;
+    private NowPlayingSource source;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/sse", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        if (source != null) {
+            source.stop();
+        }
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void subscribesAndReadsEvents() throws Exception {
+        RecordingSink sink = new RecordingSink("a");
+        start(sink);
+
+        String connect = nextConnectMessage();
+        assertTrue(connect.contains("\"station:a\""), connect);
+        assertTrue(connect.contains("\"recover\":true"), connect);
+        assertEquals("a: A - One", sink.next());
+        assertEquals("a: A - Two", sink.next());
+        SourceTestSupport.await(() -> source.status().connected(), "the stream to be connected");
+    }
+
+    @Test
+    void reconnectsAndResumesFromLastOffset() throws Exception {
+        holdOpen = false;
+        RecordingSink sink = new RecordingSink("a");
+        start(sink);
+
+        nextConnectMessage();
+        assertEquals("a: A - One", sink.next());
+        assertEquals("a: A - Two", sink.next());
+        assertEquals("lost", sink.next());
+        String resume = nextConnectMessage();
+        assertTrue(resume.contains("\"epoch\":\"e1\""), resume);
+        assertTrue(resume.contains("\"offset\":6"), resume);
+    }
+
+    private void start(RecordingSink sink) {
+        URI uri = URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+            + server.getAddress().getPort() + "/sse");
+        source = new SseNowPlayingSource(
+            SourceTestSupport.context(executor, SourceTestSupport.fastReconnectPolicy(), sink),
+            uri,
+            1_000L,
+            60_000L,
+            65_536
+        );
+        source.start();
+    }
+
+    private String nextConnectMessage() throws InterruptedException {
+        String message = connectMessages.poll(SourceTestSupport.TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        assertNotNull(message, "Timed out waiting for a connection.");
+        return message;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        String connect = query.substring(query.indexOf("cf_connect=") + "cf_connect=".length());
+        connectMessages.add(URLDecoder.decode(connect, StandardCharsets.UTF_8));
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            String events = "data: " + CONNECT_REPLY + "\n\n"
+                + ": keep-alive\n\n"
+                + "data: " + PUBLICATION + "\n\n";
+            out.write(events.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            if (holdOpen) {
+                release.await(SourceTestSupport.TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebSocketNowPlayingSourceTest {
+    private static final String CONNECT_REPLY = "{\"connect\":{\"client\":\"c1\",\"subs\":{\"station:a\":"
+        + "{\"epoch\":\"e1\",\"offset\":5,\"recoverable\":true,\"publications\":[{\"offset\":5,"
+        + "\"data\":{\"np\":{\"now_playing\":{\"sh_id\":1,\"song\":{\"text\":\"A - One\"}}}}}]}}}}";
+    private static final String PUBLICATION = "{\"channel\":\"station:b\",\"pub\":{\"offset\":3,"
+        + "\"data\":{\"np\":{\"now_playing\":{\"sh_id\":7,\"song\":{\"text\":\"B - Two\"}}}}}}";
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private WebSocketStandIn server;
+    private NowPlayingSource source;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new WebSocketStandIn();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        if (source != null) {
+            source.stop();
+        }
+        server.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void subscribesEveryStationAndReadsFrames() throws Exception {
+        RecordingSink sink = new RecordingSink("a", "b");
+        start(sink, 60_000L);
+
+        WebSocketStandIn.Connection connection = server.accept();
+        String subscribe = connection.readText();
+        assertTrue(subscribe.contains("\"station:a\"") && subscribe.contains("\"station:b\""), subscribe);
+
+        connection.sendText(CONNECT_REPLY);
+        assertEquals("a: A - One", sink.next());
+        connection.sendText(PUBLICATION);
+        assertEquals("b: B - Two", sink.next());
+        assertTrue(source.status().connected());
+    }
+
+    @Test
+    void answersCentrifugoPings() throws Exception {
+        RecordingSink sink = new RecordingSink("a");
+        start(sink, 60_000L);
+
+        WebSocketStandIn.Connection connection = server.accept();
+        connection.readText();
+        connection.sendText("{}");
+        assertEquals("{}", connection.readText());
+    }
+
+    @Test
+    void silentConnectionIsDroppedAndReopened() throws Exception {
+        RecordingSink sink = new RecordingSink("a");
+        start(sink, 200L);
+
+        WebSocketStandIn.Connection first = server.accept();
+        first.readText();
+        assertEquals("lost", sink.next());
+        WebSocketStandIn.Connection second = server.accept();
+        assertTrue(second.readText().contains("\"station:a\""));
+    }
+
+    private void start(RecordingSink sink, long idleTimeoutMillis) {
+        source = new WebSocketNowPlayingSource(
+            SourceTestSupport.context(executor, SourceTestSupport.fastReconnectPolicy(), sink),
+            server.uri(),
+            Duration.ofSeconds(2),
+            4L,
+            idleTimeoutMillis,
+            65_536
+        );
+        source.start();
+    }
+}
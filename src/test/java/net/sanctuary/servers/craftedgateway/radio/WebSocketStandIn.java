@@ -0,0 +1,191 @@
+package net.sanctuary.servers.craftedgateway.radio;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * A minimal websocket server for tests. The JDK's {@code HttpServer} cannot hand over the
+ * connection after a {@code 101} response, so this speaks just enough of RFC 6455 over a
+ * plain socket: the handshake, unfragmented text frames and close.
+ */
+final class WebSocketStandIn implements Closeable {
+    private static final String HANDSHAKE_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int OPCODE_TEXT = 0x1;
+    private static final int OPCODE_CLOSE = 0x8;
+
+    private final ServerSocket serverSocket;
+    private final BlockingQueue<Connection> connections = new LinkedBlockingQueue<>();
+    private final Thread acceptor;
+
+    WebSocketStandIn() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.acceptor = new Thread(this::acceptLoop, "websocket-stand-in");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    URI uri() {
+        return URI.create("ws://" + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+            + serverSocket.getLocalPort() + "/websocket");
+    }
+
+    /**
+     * Waits for the next client to complete the handshake.
+     */
+    Connection accept() throws InterruptedException {
+        Connection connection = connections.poll(SourceTestSupport.TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        assertNotNull(connection, "Timed out waiting for a websocket connection.");
+        return connection;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.add(new Connection(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    static final class Connection implements Closeable {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final OutputStream out;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.socket.setSoTimeout((int) SourceTestSupport.TIMEOUT.toMillis());
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = socket.getOutputStream();
+            handshake();
+        }
+
+        /**
+         * Reads the next text frame from the client, skipping control frames such as pings.
+         * Returns {@code null} once the client closes the connection.
+         */
+        String readText() throws IOException {
+            while (true) {
+                int first = in.readUnsignedByte();
+                int second = in.readUnsignedByte();
+                long length = second & 0x7F;
+                if (length == 126) {
+                    length = in.readUnsignedShort();
+                } else if (length == 127) {
+                    length = in.readLong();
+                }
+                byte[] mask = new byte[4];
+                if ((second & 0x80) != 0) {
+                    in.readFully(mask);
+                }
+                byte[] payload = new byte[(int) length];
+                in.readFully(payload);
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i % 4];
+                }
+                int opcode = first & 0x0F;
+                if (opcode == OPCODE_TEXT) {
+                    return new String(payload, StandardCharsets.UTF_8);
+                }
+                if (opcode == OPCODE_CLOSE) {
+                    return null;
+                }
+            }
+        }
+
+        void sendText(String text) throws IOException {
+            byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+            out.write(0x80 | OPCODE_TEXT);
+            if (payload.length < 126) {
+                out.write(payload.length);
+            } else if (payload.length < 65_536) {
+                out.write(126);
+                out.write(payload.length >>> 8);
+                out.write(payload.length & 0xFF);
+            } else {
+                out.write(127);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    out.write((int) ((long) payload.length >>> shift) & 0xFF);
+                }
+            }
+            out.write(payload);
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+
+        private void handshake() throws IOException {
+            String key = null;
+            String line;
+            while (!(line = readLine()).isEmpty()) {
+                int colon = line.indexOf(':');
+                if (colon > 0 && line.substring(0, colon).trim().toLowerCase(Locale.ROOT).equals("sec-websocket-key")) {
+                    key = line.substring(colon + 1).trim();
+                }
+            }
+            if (key == null) {
+                throw new IOException("Missing Sec-WebSocket-Key");
+            }
+            String response = "HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + acceptKey(key) + "\r\n\r\n";
+            out.write(response.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            int next;
+            while ((next = in.read()) != '\n') {
+                if (next < 0) {
+                    throw new IOException("Connection closed during handshake");
+                }
+                if (next != '\r') {
+                    line.append((char) next);
+                }
+            }
+            return line.toString();
+        }
+
+        private static String acceptKey(String key) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + HANDSHAKE_GUID).getBytes(StandardCharsets.US_ASCII));
+                return Base64.getEncoder().encodeToString(digest);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
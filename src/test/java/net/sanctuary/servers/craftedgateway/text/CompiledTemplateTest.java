@@ -0,0 +1,243 @@
+package net.sanctuary.servers.craftedgateway.text;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks compiled rendering against the per-call rendering {@link MessageTemplate} used before
+ * templates were compiled, which is reproduced here as {@link #baseline(String, Object...)}.
+ * Components are compared after {@link Component#compact()}, since a compiled template may nest
+ * the same styled text differently.
+ */
+class CompiledTemplateTest {
+    private static final String STATION_URL = "https://radio.example.net/public/station";
+
+    @Test
+    void legacyTemplateMatchesBaseline() {
+        assertMatchesBaseline(
+            "&6[VOTD] &e{reference} ({version}) &f{text}",
+            "reference", "John 3:16",
+            "version", "KJV",
+            "text", "For God so loved the world"
+        );
+    }
+
+    @Test
+    void miniMessageTemplateMatchesBaseline() {
+        assertMatchesBaseline(
+            "<gold>[Radio]</gold> <yellow>{song}</yellow> <gray>on</gray> <aqua>{station}",
+            "song", "Artist - Title",
+            "station", "Main"
+        );
+    }
+
+    @Test
+    void angleBracketPlaceholderMatchesBaseline() {
+        assertMatchesBaseline("<gold><song></gold> {song}", "song", "Artist - Title");
+    }
+
+    @Test
+    void placeholderInHoverTextMatchesBaseline() {
+        String template = "<hover:show_text:'<gray>Now playing {song}'><yellow>{station}</yellow></hover>";
+        assertMatchesBaseline(template, "song", "Artist - Title", "station", "Main");
+
+        Component rendered = MessageTemplate.compile(template, "song", "station").render("Artist - Title", "Main");
+        assertTrue(plainHoverTexts(rendered).contains("Now playing Artist - Title"), plainHoverTexts(rendered).toString());
+    }
+
+    @Test
+    void placeholderInClickUrlMatchesBaseline() {
+        assertMatchesBaseline("<click:open_url:'{url}'><aqua>Listen</aqua></click>", "url", STATION_URL);
+    }
+
+    @Test
+    void componentValueFromLegacyAwareValueMatchesBaseline() {
+        String template = "<gold>[Radio]</gold> <yellow>{song}</yellow> <aqua>{url}</aqua>";
+        Object url = MessageTemplate.legacyAwareValue(
+            template,
+            STATION_URL,
+            () -> Component.text("Listen Now").clickEvent(ClickEvent.openUrl(STATION_URL))
+        );
+        assertTrue(url instanceof Component);
+        assertMatchesBaseline(template, "song", "Artist - Title", "url", url);
+
+        String legacyTemplate = "&6[Radio] &e{song} &7- &b{url}";
+        Object legacyUrl = MessageTemplate.legacyAwareValue(legacyTemplate, STATION_URL, () -> Component.text("Listen"));
+        assertEquals(STATION_URL, legacyUrl);
+        assertMatchesBaseline(legacyTemplate, "song", "Artist - Title", "url", legacyUrl);
+    }
+
+    @Test
+    void unknownPlaceholderStaysLiteral() {
+        assertMatchesBaseline("<yellow>{unknown}</yellow> {song}", "song", "Artist - Title");
+        assertMatchesBaseline("&e{unknown} &f{song}", "song", "Artist - Title");
+        assertMatchesBaseline("{unclosed <gray>{song}", "song", "Artist - Title");
+    }
+
+    @Test
+    void privateUseCharactersAreNotPlaceholders() {
+        assertMatchesBaseline("<white>\uE000 {song} \uE001</white>", "song", "\uE000 Artist - Title");
+    }
+
+    @Test
+    void valuesAreNotParsedAsMiniMessage() {
+        assertMatchesBaseline("<yellow>{song}</yellow>", "song", "<red>Artist</red> - {song}");
+    }
+
+    @Test
+    void boundTemplateRendersLikeTheFullRender() {
+        String[] templates = {
+            "<yellow>{song}</yellow> <gray>{time}",
+            "<hover:show_text:'{song}'>{time}</hover>",
+            "<click:open_url:'{song}'>{time}</click>",
+            "&e{song} &7{time}"
+        };
+        for (String template : templates) {
+            CompiledTemplate compiled = CompiledTemplate.compile(template, "song", "time");
+            Component expected = compiled.render("Artist - Title", "12:00");
+            CompiledTemplate bound = compiled.bind(Map.of("song", "Artist - Title"));
+
+            assertFalse(bound.uses("song"), template);
+            assertTrue(bound.uses("time"), template);
+            assertEquals(normalize(expected), normalize(bound.render("ignored", "12:00")), template);
+
+            CompiledTemplate constant = bound.bind(Map.of("time", "12:00"));
+            assertTrue(constant.isConstant(), template);
+            assertEquals(normalize(expected), normalize(constant.render()), template);
+        }
+    }
+
+    @Test
+    void templateWithoutPlaceholdersIsConstant() {
+        CompiledTemplate compiled = CompiledTemplate.compile("<gold>Welcome</gold>", "song");
+
+        assertTrue(compiled.isConstant());
+        assertFalse(compiled.uses("song"));
+        assertSame(compiled.render(), compiled.render("ignored"));
+        assertEquals(normalize(baseline("<gold>Welcome</gold>")), normalize(compiled.render()));
+    }
+
+    @Test
+    void nullTemplateRendersEmpty() {
+        assertEquals(Component.empty(), MessageTemplate.render(null, "song", "Artist - Title"));
+        assertEquals(Component.empty(), CompiledTemplate.compile(null, "song").render("Artist - Title"));
+    }
+
+    private static void assertMatchesBaseline(String template, Object... keyValues) {
+        String[] keys = new String[keyValues.length / 2];
+        Object[] values = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (String) keyValues[i * 2];
+            values[i] = keyValues[i * 2 + 1];
+        }
+        Component expected = normalize(baseline(template, keyValues));
+        assertEquals(expected, normalize(MessageTemplate.compile(template, keys).render(values)), template);
+        assertEquals(expected, normalize(MessageTemplate.render(template, keyValues)), template);
+    }
+
+    /**
+     * Compacts the component and the text of every {@code show_text} hover in it.
+     */
+    private static Component normalize(Component component) {
+        return normalizeHovers(component.compact());
+    }
+
+    private static Component normalizeHovers(Component component) {
+        List<Component> children = new ArrayList<>();
+        for (Component child : component.children()) {
+            children.add(normalizeHovers(child));
+        }
+        Component result = component.children(children);
+        HoverEvent<?> hover = result.style().hoverEvent();
+        if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) {
+            result = result.hoverEvent(HoverEvent.showText(normalize((Component) hover.value())));
+        }
+        return result;
+    }
+
+    private static List<String> plainHoverTexts(Component component) {
+        List<String> texts = new ArrayList<>();
+        collectHoverTexts(component, texts);
+        return texts;
+    }
+
+    private static void collectHoverTexts(Component component, List<String> texts) {
+        HoverEvent<?> hover = component.style().hoverEvent();
+        if (hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) {
+            texts.add(LegacyComponentSerializer.legacyAmpersand().serialize((Component) hover.value())
+                .replaceAll("&[0-9a-fk-or]", ""));
+        }
+        for (Component child : component.children()) {
+            collectHoverTexts(child, texts);
+        }
+    }
+
+    /**
+     * The rendering used before templates were compiled: legacy templates get their values
+     * spliced in as text, MiniMessage templates turn {@code {key}} into {@code <key>} and are
+     * parsed with one placeholder resolver per key on every call.
+     */
+    private static Component baseline(String template, Object... keyValues) {
+        if (MessageTemplate.usesLegacyFormat(template)) {
+            return LegacyComponentSerializer.legacyAmpersand().deserialize(replacePlaceholders(template, keyValues, true));
+        }
+        TagResolver.Builder resolver = TagResolver.builder();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            String key = (String) keyValues[i];
+            Object value = keyValues[i + 1];
+            if (value instanceof Component component) {
+                resolver.resolver(Placeholder.component(key, component));
+            } else {
+                resolver.resolver(Placeholder.unparsed(key, Objects.toString(value, "")));
+            }
+        }
+        return MiniMessage.miniMessage().deserialize(replacePlaceholders(template, keyValues, false), resolver.build());
+    }
+
+    private static String replacePlaceholders(String template, Object[] keyValues, boolean legacy) {
+        StringBuilder result = new StringBuilder(template.length());
+        int index = 0;
+        while (index < template.length()) {
+            int open = template.indexOf('{', index);
+            int close = open < 0 ? -1 : template.indexOf('}', open + 1);
+            if (close < 0) {
+                result.append(template, index, template.length());
+                break;
+            }
+            result.append(template, index, open);
+            String key = template.substring(open + 1, close);
+            int keyIndex = -1;
+            for (int i = 0; i < keyValues.length; i += 2) {
+                if (key.equals(keyValues[i])) {
+                    keyIndex = i;
+                    break;
+                }
+            }
+            if (keyIndex < 0) {
+                result.append(template, open, close + 1);
+            } else if (legacy) {
+                result.append(Objects.toString(keyValues[keyIndex + 1], ""));
+            } else {
+                result.append('<').append(key).append('>');
+            }
+            index = close + 1;
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package net.sanctuary.servers.craftedgateway.votd;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomVersePoolTest {
+    @Test
+    void pollAndOfferWrapAroundTheRing() {
+        RandomVersePool pool = new RandomVersePool();
+        pool.configure(3, 1, 0);
+        long generation = pool.beginRefill();
+        VotdEntry first = verse("Genesis 1:1");
+        VotdEntry second = verse("Psalm 23:1");
+        VotdEntry third = verse("John 3:16");
+        assertTrue(pool.offer(first, generation));
+        assertTrue(pool.offer(second, generation));
+        assertTrue(pool.offer(third, generation));
+        assertFalse(pool.offer(verse("Romans 8:28"), generation), "A full pool must refuse verses.");
+
+        assertSame(first, pool.poll());
+        assertSame(second, pool.poll());
+        VotdEntry fourth = verse("Romans 8:28");
+        VotdEntry fifth = verse("Isaiah 40:31");
+        assertTrue(pool.offer(fourth, generation));
+        assertTrue(pool.offer(fifth, generation));
+        assertEquals(0, pool.missing(generation));
+
+        assertSame(third, pool.poll());
+        assertSame(fourth, pool.poll());
+        assertSame(fifth, pool.poll());
+        assertNull(pool.poll());
+        assertEquals(3, pool.missing(generation));
+    }
+
+    @Test
+    void refusesDuplicatesWithinTheDedupeWindow() {
+        RandomVersePool pool = new RandomVersePool();
+        pool.configure(4, 0, 2);
+        long generation = pool.beginRefill();
+        assertTrue(pool.offer(verse("Genesis 1:1"), generation));
+        assertFalse(pool.offer(verse("Genesis 1:1"), generation), "A pooled verse must not be pooled twice.");
+
+        pool.poll();
+        assertFalse(pool.offer(verse("Genesis 1:1"), generation), "An announced verse is refused within the window.");
+
+        assertTrue(pool.offer(verse("Psalm 23:1"), generation));
+        pool.poll();
+        assertFalse(pool.offer(verse("Genesis 1:1"), generation));
+        assertTrue(pool.offer(verse("John 3:16"), generation));
+        pool.poll();
+
+        assertTrue(pool.offer(verse("Genesis 1:1"), generation), "A verse leaves the window after two announcements.");
+        assertFalse(pool.offer(verse("John 3:16"), generation));
+    }
+
+    @Test
+    void clearOrphansTheRunningRefill() {
+        RandomVersePool pool = new RandomVersePool();
+        pool.configure(2, 0, 4);
+        long stale = pool.beginRefill();
+        assertTrue(pool.offer(verse("Genesis 1:1"), stale));
+        pool.poll();
+
+        pool.clear();
+
+        assertFalse(pool.offer(verse("Psalm 23:1"), stale), "Verses from an earlier generation must be dropped.");
+        assertEquals(0, pool.missing(stale));
+        long current = pool.beginRefill();
+        assertTrue(current != stale);
+        assertEquals(2, pool.missing(current));
+        assertTrue(pool.offer(verse("Genesis 1:1"), current), "Clearing also empties the dedupe window.");
+    }
+
+    @Test
+    void beginRefillRespectsTheLowWaterMark() {
+        RandomVersePool pool = new RandomVersePool();
+        pool.configure(4, 1, 0);
+        long generation = pool.beginRefill();
+        assertTrue(generation >= 0L);
+        assertEquals(-1L, pool.beginRefill(), "Only one refill may run at a time.");
+        pool.offer(verse("Genesis 1:1"), generation);
+        pool.offer(verse("Psalm 23:1"), generation);
+        pool.endRefill(generation);
+
+        assertEquals(-1L, pool.beginRefill(), "Above the low-water mark no refill is needed.");
+        pool.poll();
+        assertEquals(generation, pool.beginRefill());
+    }
+
+    @Test
+    void emptyPoolNeverRefills() {
+        RandomVersePool pool = new RandomVersePool();
+        pool.configure(0, 3, 0);
+
+        assertEquals(0, pool.capacity());
+        assertEquals(-1L, pool.beginRefill());
+        assertNull(pool.poll());
+    }
+
+    @Test
+    void changingTheCapacityEmptiesThePool() {
+        RandomVersePool pool = new RandomVersePool();
+        pool.configure(2, 0, 4);
+        long generation = pool.beginRefill();
+        pool.offer(verse("Genesis 1:1"), generation);
+        pool.offer(verse("Psalm 23:1"), generation);
+        pool.poll();
+
+        pool.configure(2, 1, 4);
+        assertEquals(1, pool.missing(generation), "Same capacity keeps the pool and its generation.");
+
+        pool.configure(3, 1, 4);
+        assertEquals(3, pool.capacity());
+        assertNull(pool.poll());
+        assertFalse(pool.offer(verse("John 3:16"), generation));
+        long resized = pool.beginRefill();
+        assertEquals(3, pool.missing(resized));
+        assertFalse(pool.offer(verse("Genesis 1:1"), resized), "The dedupe window survives a resize.");
+        assertTrue(pool.offer(verse("Psalm 23:1"), resized));
+    }
+
+    private static VotdEntry verse(String reference) {
+        return new VotdEntry(reference, "Text of " + reference, "KJV");
+    }
+}
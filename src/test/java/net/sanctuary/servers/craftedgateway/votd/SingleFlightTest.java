@@ -0,0 +1,126 @@
+package net.sanctuary.servers.craftedgateway.votd;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SingleFlightTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+    private static final String[] VERSIONS = {"KJV", "NIV", "ESV", "ASV", "WEB"};
+
+    @Test
+    void joinStormAcrossFiveVersionsFetchesEachVersionOnce() throws Exception {
+        SingleFlight<VerseCache.Key, VotdEntry> flights = new SingleFlight<>();
+        AtomicInteger fetches = new AtomicInteger();
+        CompletableFuture<VotdEntry> upstream = new CompletableFuture<>();
+        int callers = 200;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<CompletableFuture<VotdEntry>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                VerseCache.Key key = new VerseCache.Key(TODAY, VERSIONS[i % VERSIONS.length]);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return flights.run(key, () -> {
+                        fetches.incrementAndGet();
+                        return upstream;
+                    });
+                }));
+            }
+            start.countDown();
+
+            List<CompletableFuture<VotdEntry>> futures = new ArrayList<>();
+            for (Future<CompletableFuture<VotdEntry>> result : results) {
+                futures.add(result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(VERSIONS.length, fetches.get());
+            for (int i = VERSIONS.length; i < callers; i++) {
+                assertSame(futures.get(i % VERSIONS.length), futures.get(i));
+            }
+
+            VotdEntry entry = new VotdEntry("John 3:16", "For God so loved the world", "KJV");
+            upstream.complete(entry);
+            for (CompletableFuture<VotdEntry> future : futures) {
+                assertSame(entry, future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void sameKeySharesTheRunningFuture() {
+        SingleFlight<VerseCache.Key, VotdEntry> flights = new SingleFlight<>();
+        VerseCache.Key key = new VerseCache.Key(TODAY, "KJV");
+        CompletableFuture<VotdEntry> upstream = new CompletableFuture<>();
+
+        CompletableFuture<VotdEntry> first = flights.run(key, () -> upstream);
+        CompletableFuture<VotdEntry> second = flights.run(key, () -> fail("A running fetch must be shared."));
+        CompletableFuture<VotdEntry> otherDay = flights.run(new VerseCache.Key(TODAY.plusDays(1), "KJV"), CompletableFuture::new);
+
+        assertSame(first, second);
+        assertFalse(first == otherDay);
+    }
+
+    @Test
+    void completedFetchFreesTheKey() {
+        SingleFlight<VerseCache.Key, VotdEntry> flights = new SingleFlight<>();
+        VerseCache.Key key = new VerseCache.Key(TODAY, "KJV");
+        AtomicInteger fetches = new AtomicInteger();
+
+        flights.run(key, () -> {
+            fetches.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+        flights.run(key, () -> {
+            fetches.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void failedFetchPropagatesAndFreesTheKey() {
+        SingleFlight<VerseCache.Key, VotdEntry> flights = new SingleFlight<>();
+        VerseCache.Key key = new VerseCache.Key(TODAY, "KJV");
+        IllegalStateException failure = new IllegalStateException("upstream down");
+
+        CompletableFuture<VotdEntry> failed = flights.run(key, () -> CompletableFuture.failedFuture(failure));
+        CompletableFuture<VotdEntry> thrown = flights.run(key, () -> {
+            throw failure;
+        });
+        CompletableFuture<VotdEntry> retried = flights.run(key, CompletableFuture::new);
+
+        assertSame(failure, causeOf(failed));
+        assertSame(failure, causeOf(thrown));
+        assertTrue(retried != failed && retried != thrown);
+        assertFalse(retried.isDone());
+    }
+
+    private static Throwable causeOf(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+        return fail("Expected the fetch to fail.");
+    }
+}
@@ -0,0 +1,106 @@
+package net.sanctuary.servers.craftedgateway.votd;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VerseCacheTest {
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 12);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    @Test
+    void latestReturnsTheNewestDateOfAVersion() {
+        VerseCache cache = new VerseCache(8);
+        CachedVerse tuesday = verse(TUESDAY, "KJV");
+        cache.put(tuesday);
+        cache.put(verse(MONDAY, "KJV"));
+        cache.put(verse(TUESDAY, "NIV"));
+
+        assertSame(tuesday, cache.latest("KJV"));
+        assertNull(cache.latest("ESV"));
+    }
+
+    @Test
+    void latestPerVersionListsNewestEntriesLeastRecentlyUsedFirst() {
+        VerseCache cache = new VerseCache(8);
+        CachedVerse kjvMonday = verse(MONDAY, "KJV");
+        CachedVerse nivTuesday = verse(TUESDAY, "NIV");
+        CachedVerse kjvTuesday = verse(TUESDAY, "KJV");
+        CachedVerse esvMonday = verse(MONDAY, "ESV");
+        cache.put(kjvMonday);
+        cache.put(nivTuesday);
+        cache.put(kjvTuesday);
+        cache.put(esvMonday);
+
+        assertEquals(List.of(nivTuesday, kjvTuesday, esvMonday), cache.latestPerVersion());
+    }
+
+    @Test
+    void resizeEvictsLeastRecentlyUsedEntries() {
+        VerseCache cache = new VerseCache(4);
+        CachedVerse kjv = verse(TUESDAY, "KJV");
+        CachedVerse niv = verse(TUESDAY, "NIV");
+        CachedVerse esv = verse(TUESDAY, "ESV");
+        CachedVerse asv = verse(TUESDAY, "ASV");
+        cache.put(kjv);
+        cache.put(niv);
+        cache.put(esv);
+        cache.put(asv);
+
+        cache.resize(2);
+
+        assertEquals(List.of(esv, asv), cache.latestPerVersion());
+        assertNull(cache.latest("KJV"));
+        assertNull(cache.latest("NIV"));
+    }
+
+    @Test
+    void putBeyondCapacityEvictsTheEldestEntry() {
+        VerseCache cache = new VerseCache(2);
+        cache.put(verse(TUESDAY, "KJV"));
+        cache.put(verse(TUESDAY, "NIV"));
+        cache.put(verse(TUESDAY, "ESV"));
+
+        assertNull(cache.latest("KJV"));
+        assertEquals(2, cache.latestPerVersion().size());
+    }
+
+    @Test
+    void latestRefreshesAccessOrder() {
+        VerseCache cache = new VerseCache(3);
+        CachedVerse kjv = verse(TUESDAY, "KJV");
+        CachedVerse niv = verse(TUESDAY, "NIV");
+        CachedVerse esv = verse(TUESDAY, "ESV");
+        cache.put(kjv);
+        cache.put(niv);
+        cache.put(esv);
+
+        assertSame(kjv, cache.latest("KJV"));
+        cache.put(verse(TUESDAY, "ASV"));
+
+        assertSame(kjv, cache.latest("KJV"));
+        assertNull(cache.latest("NIV"));
+        assertSame(esv, cache.latest("ESV"));
+    }
+
+    @Test
+    void clearEmptiesTheCache() {
+        VerseCache cache = new VerseCache(0);
+        cache.put(verse(TUESDAY, "KJV"));
+        assertEquals(1, cache.latestPerVersion().size());
+
+        cache.clear();
+
+        assertTrue(cache.isEmpty());
+    }
+
+    private static CachedVerse verse(LocalDate date, String version) {
+        return new CachedVerse(date, version, new VotdEntry("John 3:16", "For God so loved the world", version));
+    }
+}
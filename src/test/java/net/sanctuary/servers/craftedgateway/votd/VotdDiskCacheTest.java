@@ -0,0 +1,128 @@
+package net.sanctuary.servers.craftedgateway.votd;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VotdDiskCacheTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+    private final List<Runnable> writes = new ArrayList<>();
+    private final Logger logger = Logger.getAnonymousLogger();
+    private Path folder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        folder = Files.createTempDirectory("votd-cache");
+        logger.setUseParentHandlers(false);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(folder)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void roundTripsDailyAndRandomVerses() {
+        VotdDiskCache cache = new VotdDiskCache(folder, logger, writes::add);
+        List<CachedVerse> daily = List.of(
+            new CachedVerse(TODAY, "KJV", new VotdEntry("John 3:16", "For God so loved the world", "KJV")),
+            new CachedVerse(TODAY.minusDays(1), "NIV", new VotdEntry("Psalm 23:1", "The Lord is my shepherd", "NIV"))
+        );
+        CachedVerse random = new CachedVerse(null, "KJV", new VotdEntry("Genesis 1:1", "In the beginning", "KJV"));
+
+        cache.saveDaily(daily);
+        cache.saveRandom(random);
+        assertEquals(1, writes.size(), "A burst of saves must queue a single write.");
+        writes.remove(0).run();
+
+        VotdDiskCache.Snapshot loaded = new VotdDiskCache(folder, logger, writes::add).load();
+        assertEquals(daily, loaded.daily());
+        assertEquals(random, loaded.random());
+    }
+
+    @Test
+    void flushWritesPendingChanges() throws IOException {
+        VotdDiskCache cache = new VotdDiskCache(folder, logger, writes::add);
+        CachedVerse random = new CachedVerse(null, "KJV", new VotdEntry("Genesis 1:1", "In the beginning", "KJV"));
+        cache.saveRandom(random);
+
+        cache.flush();
+
+        assertEquals(random, new VotdDiskCache(folder, logger, writes::add).load().random());
+        try (Stream<Path> files = Files.list(folder)) {
+            assertEquals(List.of(folder.resolve("votd-cache.json")), files.toList(), "No temporary file may remain.");
+        }
+    }
+
+    @Test
+    void missingFileYieldsEmptySnapshot() {
+        VotdDiskCache.Snapshot loaded = new VotdDiskCache(folder, logger, writes::add).load();
+
+        assertTrue(loaded.daily().isEmpty());
+        assertNull(loaded.random());
+    }
+
+    @Test
+    void corruptFileYieldsEmptySnapshot() throws IOException {
+        for (String content : new String[] {"{\"daily\":[{\"bible-version\":", "[]", "not json"}) {
+            Files.writeString(folder.resolve("votd-cache.json"), content, StandardCharsets.UTF_8);
+
+            VotdDiskCache.Snapshot loaded = new VotdDiskCache(folder, logger, writes::add).load();
+
+            assertTrue(loaded.daily().isEmpty(), content);
+            assertNull(loaded.random(), content);
+        }
+    }
+
+    @Test
+    void readsLegacyObjectShapedDailyEntry() throws IOException {
+        Files.writeString(folder.resolve("votd-cache.json"), "{"
+            + "\"daily\":{\"date\":\"2026-10-17\",\"bible-version\":\"KJV\",\"reference\":\"John 3:16\","
+            + "\"text\":\"For God so loved the world\",\"version\":\"KJV\"},"
+            + "\"random\":{\"bible-version\":\"KJV\",\"reference\":\"Genesis 1:1\","
+            + "\"text\":\"In the beginning\",\"version\":\"KJV\"}}", StandardCharsets.UTF_8);
+
+        VotdDiskCache.Snapshot loaded = new VotdDiskCache(folder, logger, writes::add).load();
+
+        assertEquals(
+            List.of(new CachedVerse(TODAY, "KJV", new VotdEntry("John 3:16", "For God so loved the world", "KJV"))),
+            loaded.daily()
+        );
+        assertEquals(new CachedVerse(null, "KJV", new VotdEntry("Genesis 1:1", "In the beginning", "KJV")), loaded.random());
+    }
+
+    @Test
+    void skipsIncompleteOrMisdatedVerses() throws IOException {
+        Files.writeString(folder.resolve("votd-cache.json"), "{\"daily\":["
+            + "{\"date\":\"2026-10-17\",\"bible-version\":\"KJV\",\"reference\":\"John 3:16\"},"
+            + "{\"date\":\"yesterday\",\"bible-version\":\"NIV\",\"reference\":\"Psalm 23:1\","
+            + "\"text\":\"The Lord is my shepherd\",\"version\":\"NIV\"},"
+            + "{\"date\":\"2026-10-17\",\"bible-version\":\"ESV\",\"reference\":\"Romans 8:28\","
+            + "\"text\":\"And we know\",\"version\":\"ESV\"}]}", StandardCharsets.UTF_8);
+
+        VotdDiskCache.Snapshot loaded = new VotdDiskCache(folder, logger, writes::add).load();
+
+        assertEquals(1, loaded.daily().size());
+        assertEquals("ESV", loaded.daily().get(0).bibleVersion());
+    }
+}